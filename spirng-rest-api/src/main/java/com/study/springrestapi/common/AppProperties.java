@@ -1,11 +1,14 @@
 package com.study.springrestapi.common;
 
+import com.study.springrestapi.configs.TokenMode;
+import com.study.springrestapi.events.EventMapper;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import javax.validation.constraints.NotEmpty;
+import java.time.Duration;
 
 @Component
 @ConfigurationProperties(prefix = "my-app")
@@ -29,4 +32,51 @@ public class AppProperties {
 
     @NotEmpty
     private String clientSecret;
-}
\ No newline at end of file
+
+    private EventMapper.Type eventMapper = EventMapper.Type.GENERATED;
+
+    private long eventCacheMaximumSize = 10_000;
+
+    private Duration eventCacheTtl = Duration.ofMinutes(1);
+
+    private int eventExportFetchSize = 500;
+
+    private int eventImportChunkSize = 500;
+
+    /**
+     * 메모리에 모은 조회수를 DB에 더하는 간격. 비정상 종료되면 이 간격 동안의 조회수를 잃을 수 있다. (EventViewCounter)
+     */
+    private Duration eventViewFlushInterval = Duration.ofSeconds(10);
+
+    private int tokenStoreMaximumSize = 100_000;
+
+    private long memberCacheMaximumSize = 10_000;
+
+    private Duration memberCacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * 비밀번호 해시 전용 스레드 수, 기본값은 CPU 코어의 절반
+     */
+    private int passwordHashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    private int passwordHashingQueueSize = 64;
+
+    private TokenMode tokenMode = TokenMode.STORE;
+
+    /**
+     * token-mode=jwt 일 때 액세스 토큰 HMAC 서명 키(32바이트 이상). 기본값이 없어서 넣지 않으면 시작하지 않는다.
+     */
+    private String tokenSigningKey;
+
+    /**
+     * 한 요청에서 같은 SELECT가 이 횟수 이상 나가면 N+1로 의심한다. (SqlStatisticsFilter)
+     */
+    private int sqlNPlusOneThreshold = 3;
+
+    private boolean sqlStatisticsHeaders = true;
+
+    /**
+     * 요청과 MemberService 조회를 가상 스레드에서 실행한다. (VirtualThreadConfig, JDK 21 이상)
+     */
+    private boolean virtualThreads = false;
+}
@@ -0,0 +1,21 @@
+package com.study.springrestapi.common;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 서비스 간 호출용 바이너리 JSON 미디어 타입 (BinaryContentConfig)
+ * 구조는 HAL JSON과 같고 인코딩만 다르다.
+ */
+public final class BinaryMediaTypes {
+
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final MediaType SMILE = MediaType.valueOf(SMILE_VALUE);
+
+    private BinaryMediaTypes() {
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.boot.jackson.JsonComponent;
 import org.springframework.validation.Errors;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @JsonComponent
 public class ErrorsSerializer extends JsonSerializer<Errors> {
@@ -22,7 +23,8 @@ public class ErrorsSerializer extends JsonSerializer<Errors> {
                 gen.writeStringField("code", e.getCode());
                 gen.writeStringField("defaultMessage", e.getDefaultMessage());
                 Object rejectedValue = e.getRejectedValue();
-                if (rejectedValue != null) {
+                // 목록 크기 에러(@Size) 등에서 목록 전체를 문자열로 쓰지 않는다.
+                if (rejectedValue != null && !(rejectedValue instanceof Collection)) {
                     gen.writeStringField("rejectedValue", rejectedValue.toString());
                 }
                 gen.writeEndObject();
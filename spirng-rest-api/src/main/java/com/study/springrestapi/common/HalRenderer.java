@@ -0,0 +1,106 @@
+package com.study.springrestapi.common;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * MVC가 응답 본문을 쓸 때와 같은 HttpMessageConverter로 객체를 바이트 배열로 직렬화한다.
+ * HAL 설정(_links 등)은 Spring HATEOAS가 MVC에 등록한 컨버터에만 들어있기 때문에 ObjectMapper를 직접 쓰지 않는다.
+ */
+@Component
+public class HalRenderer {
+
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    private final ObjectProvider<ContentNegotiationManager> contentNegotiationManager;
+
+    public HalRenderer(ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter,
+                       ObjectProvider<ContentNegotiationManager> contentNegotiationManager) {
+        this.handlerAdapter = handlerAdapter;
+        this.contentNegotiationManager = contentNegotiationManager;
+    }
+
+    /**
+     * 요청의 Accept(품질 순서)에서 producible 중 처음 맞는 미디어 타입, 맞는 것이 없으면 producible의 첫 번째
+     * 본문을 직접 render 해서 byte[]로 응답하는 경우 MVC의 내용 협상을 거치지 않으므로 여기서 고른다.
+     */
+    public MediaType negotiate(NativeWebRequest request, MediaType... producible) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = this.contentNegotiationManager.getObject().resolveMediaTypes(request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return producible[0];
+        }
+        for (MediaType accept : acceptable) {
+            for (MediaType mediaType : producible) {
+                if (accept.isCompatibleWith(mediaType)) {
+                    return mediaType;
+                }
+            }
+        }
+        return producible[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public byte[] render(Object body, MediaType mediaType) {
+        Class<?> bodyClass = body.getClass();
+        Type bodyType = ResolvableType.forInstance(body).getType();
+        List<HttpMessageConverter<?>> converters = this.handlerAdapter.getObject().getMessageConverters();
+        try {
+            for (HttpMessageConverter<?> converter : converters) {
+                BufferedOutputMessage outputMessage = new BufferedOutputMessage();
+                if (converter instanceof GenericHttpMessageConverter) {
+                    GenericHttpMessageConverter<Object> generic = (GenericHttpMessageConverter<Object>) converter;
+                    if (generic.canWrite(bodyType, bodyClass, mediaType)) {
+                        generic.write(body, bodyType, mediaType, outputMessage);
+                        return outputMessage.toByteArray();
+                    }
+                } else if (converter.canWrite(bodyClass, mediaType)) {
+                    ((HttpMessageConverter<Object>) converter).write(body, mediaType, outputMessage);
+                    return outputMessage.toByteArray();
+                }
+            }
+        } catch (IOException e) {
+            throw new HttpMessageNotWritableException("Could not render " + bodyClass.getName(), e);
+        }
+        throw new HttpMessageNotWritableException("No converter for " + bodyClass.getName() + " as " + mediaType);
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        byte[] toByteArray() {
+            return body.toByteArray();
+        }
+    }
+}
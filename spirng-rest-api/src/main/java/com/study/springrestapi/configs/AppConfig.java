@@ -1,22 +1,36 @@
 package com.study.springrestapi.configs;
 
 import com.study.springrestapi.common.AppProperties;
+import com.study.springrestapi.events.EventMapper;
+import com.study.springrestapi.events.GeneratedEventMapper;
+import com.study.springrestapi.events.ModelMapperEventMapper;
 import com.study.springrestapi.member.AccountRole;
 import com.study.springrestapi.member.Member;
 import com.study.springrestapi.member.MemberRepository;
 import com.study.springrestapi.member.MemberService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.mapstruct.factory.Mappers;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import javax.sql.DataSource;
 import java.util.Set;
 
+/**
+ * EnableScheduling: 조회수 flush (EventViewCounter)
+ */
 @Configuration
+@EnableScheduling
 public class AppConfig {
     @Bean
     public ModelMapper modelMapper() {
@@ -24,8 +38,47 @@ public class AppConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public EventMapper eventMapper(AppProperties appProperties, ModelMapper modelMapper) {
+        if (appProperties.getEventMapper() == EventMapper.Type.MODEL_MAPPER) {
+            return new ModelMapperEventMapper(modelMapper);
+        }
+        return Mappers.getMapper(GeneratedEventMapper.class);
+    }
+
+    /**
+     * 해시 계산은 전용 스레드에서 하고 몰리면 503으로 거절한다. (BoundedPasswordEncoder)
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(AppProperties appProperties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(),
+                appProperties.getPasswordHashingThreads(), appProperties.getPasswordHashingQueueSize(), meterRegistry);
+    }
+
+    /**
+     * 요청마다 보낸 SQL 문장 수, 행 수, DB 시간을 세도록 커넥션 풀을 감싼다. (SqlStatisticsDataSource)
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SqlStatisticsDataSource)) {
+                    return new SqlStatisticsDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 인증 필터에서 보내는 조회까지 세도록 가장 먼저 실행한다.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlStatisticsFilter> sqlStatisticsFilter(AppProperties appProperties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatisticsFilter> registration = new FilterRegistrationBean<>(new SqlStatisticsFilter(
+                meterRegistry, appProperties.getSqlNPlusOneThreshold(), appProperties.isSqlStatisticsHeaders()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
     }
 
     @Bean
@@ -1,16 +1,22 @@
 package com.study.springrestapi.configs;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.study.springrestapi.common.AppProperties;
 import com.study.springrestapi.member.MemberService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
 import org.springframework.security.oauth2.config.annotation.configurers.ClientDetailsServiceConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableAuthorizationServer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerSecurityConfigurer;
+import org.springframework.security.oauth2.provider.error.DefaultWebResponseExceptionTranslator;
+import org.springframework.security.oauth2.provider.error.WebResponseExceptionTranslator;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 
 @Configuration
@@ -32,9 +38,13 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     @Override
     public void configure(AuthorizationServerSecurityConfigurer security) throws Exception {
-        security.passwordEncoder(passwordEncoder);
+        security.passwordEncoder(passwordEncoder)
+                .addTokenEndpointAuthenticationFilter(new PasswordHashingUnavailableFilter(objectMapper));
     }
 
     @Override
@@ -52,6 +62,29 @@ public class AuthServerConfig extends AuthorizationServerConfigurerAdapter {
     public void configure(AuthorizationServerEndpointsConfigurer endpoints) throws Exception {
         endpoints.authenticationManager(authenticationManager)
                 .userDetailsService(memberService)
-                .tokenStore(tokenStore);
+                .tokenStore(tokenStore)
+                .exceptionTranslator(exceptionTranslator());
+        if (tokenStore instanceof SignedAccessTokenStore) {
+            // 리프레시 토큰도 서명되어 refresh 할 때마다 값이 바뀌므로 매번 새로 발급해서 저장한다.
+            endpoints.accessTokenConverter(((SignedAccessTokenStore) tokenStore).getAccessTokenConverter())
+                    .reuseRefreshTokens(false);
+        }
+    }
+
+    /**
+     * 비밀번호 해시가 밀려서 거절된 경우(503)에는 Retry-After를 붙인다.
+     */
+    private WebResponseExceptionTranslator<OAuth2Exception> exceptionTranslator() {
+        DefaultWebResponseExceptionTranslator translator = new DefaultWebResponseExceptionTranslator();
+        return e -> {
+            ResponseEntity<OAuth2Exception> response = translator.translate(e);
+            if (!(response.getBody() instanceof PasswordHashingUnavailableException)) {
+                return response;
+            }
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header(HttpHeaders.RETRY_AFTER, PasswordHashingUnavailableFilter.RETRY_AFTER_SECONDS)
+                    .body(response.getBody());
+        };
     }
 }
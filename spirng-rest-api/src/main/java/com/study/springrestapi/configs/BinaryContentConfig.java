@@ -0,0 +1,66 @@
+package com.study.springrestapi.configs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.mediatype.hal.HalMediaTypeConfiguration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * application/cbor, application/x-jackson-smile 요청과 응답
+ * Spring MVC가 기본으로 넣는 CBOR/Smile 컨버터는 Boot의 Jackson 설정(@JsonComponent 등)과 HAL 설정이 없는 ObjectMapper를 쓰므로
+ * Boot의 Jackson2ObjectMapperBuilder로 만든 ObjectMapper에 HAL JSON 컨버터와 같은 HAL 설정을 붙여서 바꿔 넣는다.
+ * 그래서 _links, ErrorsSerializer, EventHalSerializer가 JSON과 같은 구조로 나간다.
+ * 같은 URI가 Accept에 따라 다른 본문을 주므로 /api/** 응답에는 Vary: Accept를 붙인다.
+ */
+@Configuration
+public class BinaryContentConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    private final HalMediaTypeConfiguration halMediaTypeConfiguration;
+
+    public BinaryContentConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                               HalMediaTypeConfiguration halMediaTypeConfiguration) {
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.halMediaTypeConfiguration = halMediaTypeConfiguration;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(halObjectMapper(new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(halObjectMapper(new SmileFactory())));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    private ObjectMapper halObjectMapper(JsonFactory factory) {
+        ObjectMapper objectMapper = this.objectMapperBuilder.getObject().factory(factory).build();
+        return this.halMediaTypeConfiguration.configureObjectMapper(objectMapper);
+    }
+}
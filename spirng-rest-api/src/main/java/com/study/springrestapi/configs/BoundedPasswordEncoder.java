@@ -0,0 +1,95 @@
+package com.study.springrestapi.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * bcrypt 처럼 일부러 느린 encode/matches를 요청 스레드가 아닌 전용 스레드(threads 개)에서 실행한다.
+ * - 로그인이 몰려도 해시 계산에 쓰는 CPU는 threads 개로 제한되어 이벤트 API가 쓸 CPU가 남는다.
+ * - 대기열(queueSize)까지 차면 기다리지 않고 바로 PasswordHashingUnavailableException(503)을 던진다.
+ * - 해시 시간은 password.hashing(operation=encode|matches), 거절 수는 password.hashing.rejections,
+ *   대기열 길이와 대기 시간은 executor 메트릭(name=passwordHashing)으로 볼 수 있다.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, this.executor, "passwordHashing", Collections.emptyList());
+        this.encodeTimer = meterRegistry.timer("password.hashing", "operation", "encode");
+        this.matchesTimer = meterRegistry.timer("password.hashing", "operation", "matches");
+        this.rejections = meterRegistry.counter("password.hashing.rejections");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(this.encodeTimer, () -> this.delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(this.matchesTimer, () -> this.delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    private <T> T call(Timer timer, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = this.executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            this.rejections.increment();
+            throw new PasswordHashingUnavailableException("Too many password hashing requests");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.study.springrestapi.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.DefaultAuthenticationKeyGenerator;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * InMemoryTokenStore 대신 사용하는 메모리 TokenStore
+ * - 인덱스는 모두 ConcurrentHashMap이라 키마다 나눠서 잠그고(lock striping), 조회는 잠그지 않는다.
+ * - 만료 시간은 1초 단위 타이밍 휠에 등록하고 백그라운드 스레드가 1초마다 해당 칸만 확인해서 지운다.
+ *   InMemoryTokenStore처럼 저장 횟수(flush counter)에 따라 한번에 전체를 훑지 않는다.
+ *   토큰은 만료된 뒤 처음 확인하는 칸에 담기므로 만료되고 1초 안에 지워진다.
+ * - 액세스/리프레시 토큰 수가 각각 maximumSize를 넘으면 만료가 가까운 것부터 내보낸다.
+ * - 살아있는 토큰 수는 oauth2.tokens, 지운 토큰 수는 oauth2.tokens.evictions(cause=expired|size) 메트릭으로 볼 수 있다.
+ */
+public class BoundedTokenStore implements TokenStore, InitializingBean, DisposableBean {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private static final int WHEEL_SIZE = 1024;
+
+    private final AuthenticationKeyGenerator authenticationKeyGenerator = new DefaultAuthenticationKeyGenerator();
+
+    private final Map<String, AccessEntry> accessTokens = new ConcurrentHashMap<>();
+
+    private final Map<String, String> authenticationKeyToAccessToken = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> approvalKeyToAccessTokens = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> clientIdToAccessTokens = new ConcurrentHashMap<>();
+
+    private final Map<String, RefreshEntry> refreshTokens = new ConcurrentHashMap<>();
+
+    private final Map<String, String> refreshTokenToAccessToken = new ConcurrentHashMap<>();
+
+    private final ExpiryWheel accessTokenWheel;
+
+    private final ExpiryWheel refreshTokenWheel;
+
+    private final int maximumSize;
+
+    private final Clock clock;
+
+    private final Counter expiredEvictions;
+
+    private final Counter sizeEvictions;
+
+    private long sweptTick;
+
+    private ScheduledExecutorService sweeper;
+
+    public BoundedTokenStore(int maximumSize, MeterRegistry meterRegistry) {
+        this(maximumSize, meterRegistry, Clock.systemUTC());
+    }
+
+    BoundedTokenStore(int maximumSize, MeterRegistry meterRegistry, Clock clock) {
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.sweptTick = tick(clock.millis());
+        this.accessTokenWheel = new ExpiryWheel(this.sweptTick);
+        this.refreshTokenWheel = new ExpiryWheel(this.sweptTick);
+        Gauge.builder("oauth2.tokens", accessTokens, Map::size).tag("type", "access").register(meterRegistry);
+        Gauge.builder("oauth2.tokens", refreshTokens, Map::size).tag("type", "refresh").register(meterRegistry);
+        this.expiredEvictions = meterRegistry.counter("oauth2.tokens.evictions", "cause", "expired");
+        this.sizeEvictions = meterRegistry.counter("oauth2.tokens.evictions", "cause", "size");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-store-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleAtFixedRate(this::sweep, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (this.sweeper != null) {
+            this.sweeper.shutdownNow();
+        }
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        AccessEntry entry = this.accessTokens.get(token);
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+        String value = token.getValue();
+        AccessEntry entry = new AccessEntry(token, authentication, this.authenticationKeyGenerator.extractKey(authentication),
+                getApprovalKey(authentication), authentication.getOAuth2Request().getClientId(), expiresAt(token.getExpiration()));
+        AccessEntry previous = this.accessTokens.put(value, entry);
+        if (previous != null) {
+            unindex(value, previous);
+            this.accessTokenWheel.cancel(value, previous.slotTick);
+        }
+        this.authenticationKeyToAccessToken.put(entry.authenticationKey, value);
+        if (!authentication.isClientOnly()) {
+            addToIndex(this.approvalKeyToAccessTokens, entry.approvalKey, value);
+        }
+        addToIndex(this.clientIdToAccessTokens, entry.clientId, value);
+        if (token.getRefreshToken() != null && token.getRefreshToken().getValue() != null) {
+            this.refreshTokenToAccessToken.put(token.getRefreshToken().getValue(), value);
+        }
+        entry.slotTick = this.accessTokenWheel.schedule(value, entry.expiresAt);
+        evictIfFull(this.accessTokens, this.accessTokenWheel, this::removeAccessToken);
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        AccessEntry entry = this.accessTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+        removeAccessToken(token.getValue());
+    }
+
+    private void removeAccessToken(String tokenValue) {
+        AccessEntry entry = this.accessTokens.remove(tokenValue);
+        if (entry != null) {
+            unindex(tokenValue, entry);
+            this.accessTokenWheel.cancel(tokenValue, entry.slotTick);
+        }
+    }
+
+    @Override
+    public void storeRefreshToken(OAuth2RefreshToken refreshToken, OAuth2Authentication authentication) {
+        Date expiration = refreshToken instanceof ExpiringOAuth2RefreshToken
+                ? ((ExpiringOAuth2RefreshToken) refreshToken).getExpiration()
+                : null;
+        RefreshEntry entry = new RefreshEntry(refreshToken, authentication, expiresAt(expiration));
+        RefreshEntry previous = this.refreshTokens.put(refreshToken.getValue(), entry);
+        if (previous != null) {
+            this.refreshTokenWheel.cancel(refreshToken.getValue(), previous.slotTick);
+        }
+        entry.slotTick = this.refreshTokenWheel.schedule(refreshToken.getValue(), entry.expiresAt);
+        evictIfFull(this.refreshTokens, this.refreshTokenWheel, this::removeRefreshToken);
+    }
+
+    @Override
+    public OAuth2RefreshToken readRefreshToken(String tokenValue) {
+        RefreshEntry entry = this.refreshTokens.get(tokenValue);
+        return entry == null ? null : entry.token;
+    }
+
+    @Override
+    public OAuth2Authentication readAuthenticationForRefreshToken(OAuth2RefreshToken token) {
+        RefreshEntry entry = this.refreshTokens.get(token.getValue());
+        return entry == null ? null : entry.authentication;
+    }
+
+    @Override
+    public void removeRefreshToken(OAuth2RefreshToken token) {
+        removeRefreshToken(token.getValue());
+    }
+
+    private void removeRefreshToken(String tokenValue) {
+        RefreshEntry entry = this.refreshTokens.remove(tokenValue);
+        this.refreshTokenToAccessToken.remove(tokenValue);
+        if (entry != null) {
+            this.refreshTokenWheel.cancel(tokenValue, entry.slotTick);
+        }
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+        String accessToken = this.refreshTokenToAccessToken.remove(refreshToken.getValue());
+        if (accessToken != null) {
+            removeAccessToken(accessToken);
+        }
+    }
+
+    /**
+     * InMemoryTokenStore와 같이 인증 정보가 바뀌었으면(권한 변경 등) 같은 토큰을 새 인증 정보로 다시 저장한다.
+     */
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        String key = this.authenticationKeyGenerator.extractKey(authentication);
+        String tokenValue = this.authenticationKeyToAccessToken.get(key);
+        AccessEntry entry = tokenValue == null ? null : this.accessTokens.get(tokenValue);
+        if (entry == null) {
+            return null;
+        }
+        if (!key.equals(this.authenticationKeyGenerator.extractKey(entry.authentication))) {
+            storeAccessToken(entry.token, authentication);
+        }
+        return entry.token;
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return findTokens(this.approvalKeyToAccessTokens.get(getApprovalKey(clientId, userName)));
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return findTokens(this.clientIdToAccessTokens.get(clientId));
+    }
+
+    /**
+     * 마지막으로 확인한 칸 다음부터 현재 시각의 칸까지 돌면서 만료된 토큰을 지운다.
+     * 칸에 남겨두는 것은 한 바퀴 뒤에 만료되는 토큰뿐이다.
+     */
+    void sweep() {
+        long now = this.clock.millis();
+        long currentTick = tick(now);
+        // 한 바퀴 넘게 밀렸으면 모든 칸을 한번씩만 확인하면 된다.
+        for (long tick = Math.max(this.sweptTick + 1, currentTick - WHEEL_SIZE + 1); tick <= currentTick; tick++) {
+            this.accessTokenWheel.expire(tick, tokenValue -> {
+                AccessEntry entry = this.accessTokens.get(tokenValue);
+                if (entry == null) {
+                    return true;
+                }
+                if (entry.expiresAt > now) {
+                    return false;
+                }
+                if (this.accessTokens.remove(tokenValue, entry)) {
+                    unindex(tokenValue, entry);
+                    this.expiredEvictions.increment();
+                }
+                return true;
+            });
+            this.refreshTokenWheel.expire(tick, tokenValue -> {
+                RefreshEntry entry = this.refreshTokens.get(tokenValue);
+                if (entry == null) {
+                    return true;
+                }
+                if (entry.expiresAt > now) {
+                    return false;
+                }
+                if (this.refreshTokens.remove(tokenValue, entry)) {
+                    this.refreshTokenToAccessToken.remove(tokenValue);
+                    this.expiredEvictions.increment();
+                }
+                return true;
+            });
+        }
+        this.sweptTick = currentTick;
+    }
+
+    int getAccessTokenCount() {
+        return this.accessTokens.size();
+    }
+
+    int getRefreshTokenCount() {
+        return this.refreshTokens.size();
+    }
+
+    /**
+     * 만료가 가까운 토큰부터 지운다. 한 바퀴 안에 만료되는 토큰은 다음에 확인할 칸부터 칸 순서대로 지우고,
+     * 그래도 많으면 나머지(한 바퀴보다 먼 토큰, 만료 시간이 없는 토큰) 중 만료 시간이 이른 것을 골라서 지운다.
+     * 가득 찬 상태에서 저장할 때마다 다시 훑지 않도록 maximumSize의 1% 만큼 여유를 두고 한번에 지운다.
+     */
+    private void evictIfFull(Map<String, ? extends ExpiringEntry> tokens, ExpiryWheel wheel, Consumer<String> remove) {
+        if (tokens.size() <= this.maximumSize) {
+            return;
+        }
+        int targetSize = this.maximumSize - Math.max(1, this.maximumSize / 100);
+        long nextTick = wheel.nextTick();
+        for (long tick = nextTick; tick < nextTick + WHEEL_SIZE && tokens.size() > targetSize; tick++) {
+            Iterator<String> iterator = wheel.slot(tick).iterator();
+            while (iterator.hasNext() && tokens.size() > targetSize) {
+                String tokenValue = iterator.next();
+                ExpiringEntry entry = tokens.get(tokenValue);
+                // 같은 칸에 있는 다음 바퀴 이후의 토큰은 건너뛴다.
+                if (entry != null && entry.slotTick == tick) {
+                    remove.accept(tokenValue);
+                    this.sizeEvictions.increment();
+                }
+            }
+        }
+        int excess = tokens.size() - targetSize;
+        if (excess <= 0) {
+            return;
+        }
+        // 늦게 만료되는 것을 먼저 빼면서 만료 시간이 이른 excess 개만 남긴다.
+        PriorityQueue<Map.Entry<String, Long>> earliest =
+                new PriorityQueue<>(excess + 1, Map.Entry.comparingByValue(Comparator.reverseOrder()));
+        tokens.forEach((tokenValue, entry) -> {
+            earliest.add(Map.entry(tokenValue, entry.expiresAt));
+            if (earliest.size() > excess) {
+                earliest.poll();
+            }
+        });
+        for (Map.Entry<String, Long> token : earliest) {
+            if (tokens.containsKey(token.getKey())) {
+                remove.accept(token.getKey());
+                this.sizeEvictions.increment();
+            }
+        }
+    }
+
+    private void unindex(String tokenValue, AccessEntry entry) {
+        this.authenticationKeyToAccessToken.remove(entry.authenticationKey, tokenValue);
+        removeFromIndex(this.approvalKeyToAccessTokens, entry.approvalKey, tokenValue);
+        removeFromIndex(this.clientIdToAccessTokens, entry.clientId, tokenValue);
+        OAuth2RefreshToken refreshToken = entry.token.getRefreshToken();
+        if (refreshToken != null && refreshToken.getValue() != null) {
+            this.refreshTokenToAccessToken.remove(refreshToken.getValue(), tokenValue);
+        }
+    }
+
+    private Collection<OAuth2AccessToken> findTokens(Set<String> tokenValues) {
+        if (tokenValues == null) {
+            return Collections.emptySet();
+        }
+        return tokenValues.stream()
+                .map(this.accessTokens::get)
+                .filter(Objects::nonNull)
+                .map(entry -> entry.token)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static void addToIndex(Map<String, Set<String>> index, String key, String tokenValue) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(tokenValue);
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String tokenValue) {
+        index.computeIfPresent(key, (k, tokenValues) -> {
+            tokenValues.remove(tokenValue);
+            return tokenValues.isEmpty() ? null : tokenValues;
+        });
+    }
+
+    private static String getApprovalKey(OAuth2Authentication authentication) {
+        String userName = authentication.getUserAuthentication() == null ? "" : authentication.getUserAuthentication().getName();
+        return getApprovalKey(authentication.getOAuth2Request().getClientId(), userName);
+    }
+
+    private static String getApprovalKey(String clientId, String userName) {
+        return clientId + (userName == null ? "" : ":" + userName);
+    }
+
+    private static long expiresAt(Date expiration) {
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+
+    private static long tick(long millis) {
+        return millis / TICK_MILLIS;
+    }
+
+    abstract static class ExpiringEntry {
+
+        final long expiresAt;
+
+        // 휠에서 담긴 칸. 저장한 스레드가 schedule 한 뒤에 정한다.
+        volatile long slotTick = ExpiryWheel.NOT_SCHEDULED;
+
+        ExpiringEntry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class AccessEntry extends ExpiringEntry {
+
+        private final OAuth2AccessToken token;
+
+        private final OAuth2Authentication authentication;
+
+        private final String authenticationKey;
+
+        private final String approvalKey;
+
+        private final String clientId;
+
+        AccessEntry(OAuth2AccessToken token, OAuth2Authentication authentication, String authenticationKey,
+                    String approvalKey, String clientId, long expiresAt) {
+            super(expiresAt);
+            this.token = token;
+            this.authentication = authentication;
+            this.authenticationKey = authenticationKey;
+            this.approvalKey = approvalKey;
+            this.clientId = clientId;
+        }
+    }
+
+    private static class RefreshEntry extends ExpiringEntry {
+
+        private final OAuth2RefreshToken token;
+
+        private final OAuth2Authentication authentication;
+
+        RefreshEntry(OAuth2RefreshToken token, OAuth2Authentication authentication, long expiresAt) {
+            super(expiresAt);
+            this.token = token;
+            this.authentication = authentication;
+        }
+    }
+
+    /**
+     * 만료 시각(초)을 WHEEL_SIZE 칸에 나눠 담는다. 한 바퀴보다 멀리 있는 토큰은 같은 칸에 남아 있다가 만료된 바퀴에서 지워진다.
+     * 만료 시간이 없는 토큰은 담지 않는다.
+     */
+    private static class ExpiryWheel {
+
+        static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+        @SuppressWarnings("unchecked")
+        private final Set<String>[] slots = new Set[WHEEL_SIZE];
+
+        // sweep이 확인하기 시작한 마지막 칸. 여기까지는 새로 담아도 이번 바퀴에서 다시 보지 않는다.
+        private volatile long cursor;
+
+        ExpiryWheel(long cursor) {
+            this.cursor = cursor;
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                slots[i] = ConcurrentHashMap.newKeySet();
+            }
+        }
+
+        Set<String> slot(long tick) {
+            return slots[(int) Math.floorMod(tick, WHEEL_SIZE)];
+        }
+
+        /**
+         * 다음에 확인할 칸
+         */
+        long nextTick() {
+            return this.cursor + 1;
+        }
+
+        /**
+         * 만료 시각을 올림한 칸에 담으므로 sweep이 그 칸을 확인할 때(현재 시각 >= 칸의 시작)는 이미 만료되어 있다.
+         * 그 칸을 이미 확인했으면(이미 만료된 토큰 등) 다음에 확인할 칸에 담는다.
+         * 담는 사이에 sweep이 그 칸을 확인하기 시작했으면 빼고 다음 칸에 다시 담는다.
+         * @return 담은 칸, 만료 시간이 없으면 NOT_SCHEDULED
+         */
+        long schedule(String tokenValue, long expiresAt) {
+            if (expiresAt == Long.MAX_VALUE) {
+                return NOT_SCHEDULED;
+            }
+            long expiryTick = tick(expiresAt + TICK_MILLIS - 1);
+            while (true) {
+                long tick = Math.max(expiryTick, nextTick());
+                Set<String> slot = slot(tick);
+                slot.add(tokenValue);
+                if (tick > this.cursor) {
+                    return tick;
+                }
+                slot.remove(tokenValue);
+            }
+        }
+
+        void cancel(String tokenValue, long tick) {
+            if (tick != NOT_SCHEDULED) {
+                slot(tick).remove(tokenValue);
+            }
+        }
+
+        /**
+         * 칸에 담긴 토큰 중 expired가 true를 반환한 것(만료되었거나 이미 지워진 것)은 칸에서 뺀다.
+         * 칸을 확인하기 전에 cursor를 옮겨서, 확인하는 동안 담기는 토큰은 schedule이 다음 칸으로 옮기게 한다.
+         */
+        void expire(long tick, Predicate<String> expired) {
+            this.cursor = tick;
+            slot(tick).removeIf(expired);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.study.springrestapi.configs;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+
+/**
+ * 비밀번호 해시 전용 스레드와 대기열이 모두 차서 요청을 받지 못한 경우
+ * /oauth/token 에서는 OAuth2 표준 에러 코드 temporarily_unavailable, 503으로 응답한다.
+ */
+public class PasswordHashingUnavailableException extends OAuth2Exception {
+
+    public PasswordHashingUnavailableException(String msg) {
+        super(msg);
+    }
+
+    @Override
+    public String getOAuth2ErrorCode() {
+        return "temporarily_unavailable";
+    }
+
+    @Override
+    public int getHttpErrorCode() {
+        return HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+}
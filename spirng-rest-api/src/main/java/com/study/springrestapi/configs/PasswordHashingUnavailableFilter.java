@@ -0,0 +1,43 @@
+package com.study.springrestapi.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * /oauth/token 의 클라이언트 인증(BasicAuthenticationFilter)은 TokenEndpoint의 예외 처리 밖에서 일어나므로
+ * 여기서 PasswordHashingUnavailableException을 503 응답으로 바꾼다.
+ */
+public class PasswordHashingUnavailableFilter extends OncePerRequestFilter {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ObjectMapper objectMapper;
+
+    public PasswordHashingUnavailableFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (PasswordHashingUnavailableException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.setStatus(e.getHttpErrorCode());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            this.objectMapper.writeValue(response.getOutputStream(), e);
+        }
+    }
+}
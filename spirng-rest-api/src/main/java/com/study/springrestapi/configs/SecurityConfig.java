@@ -1,6 +1,8 @@
 package com.study.springrestapi.configs;
 
+import com.study.springrestapi.common.AppProperties;
 import com.study.springrestapi.member.MemberService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
@@ -15,7 +17,8 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.provider.token.TokenStore;
-import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+
+import java.nio.charset.StandardCharsets;
 
 @Configuration
 @EnableWebSecurity
@@ -26,9 +29,21 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * 토큰 수에 상한이 있고 만료된 토큰을 백그라운드에서 바로 지우는 메모리 TokenStore (InMemoryTokenStore 대체)
+     * my-app.token-mode=jwt 이면 액세스 토큰은 서명된 JWT로 발급하고 리프레시 토큰만 저장한다.
+     */
     @Bean
-    public TokenStore tokenStore() {
-        return new InMemoryTokenStore();
+    public TokenStore tokenStore(AppProperties appProperties, MeterRegistry meterRegistry) {
+        if (appProperties.getTokenMode() == TokenMode.JWT) {
+            String signingKey = appProperties.getTokenSigningKey();
+            // HS256 키는 해시 출력 길이(256bit) 이상이어야 한다.
+            if (signingKey == null || signingKey.getBytes(StandardCharsets.UTF_8).length < 32) {
+                throw new IllegalStateException("my-app.token-signing-key must be at least 32 bytes when my-app.token-mode=jwt");
+            }
+            return new SignedAccessTokenStore(signingKey, appProperties.getTokenStoreMaximumSize(), meterRegistry);
+        }
+        return new BoundedTokenStore(appProperties.getTokenStoreMaximumSize(), meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,115 @@
+package com.study.springrestapi.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.jwt.crypto.sign.MacSigner;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 액세스 토큰은 HMAC으로 서명한 JWT로 발급하고 저장하지 않는 TokenStore
+ * - 리소스 서버는 토큰 값의 서명과 만료 시간만 확인하므로 요청마다 저장소를 조회하지 않는다.
+ * - 리프레시 토큰은 BoundedTokenStore에 그대로 저장해서 지우면 바로 무효가 된다.
+ * - 액세스 토큰은 지울 수 없으니 만료 시간(accessTokenValiditySeconds)을 짧게 둔다.
+ */
+public class SignedAccessTokenStore extends BoundedTokenStore {
+
+    private final SigningConverter accessTokenConverter = new SigningConverter();
+
+    public SignedAccessTokenStore(String signingKey, int maximumSize, MeterRegistry meterRegistry) {
+        super(maximumSize, meterRegistry);
+        this.accessTokenConverter.setSigningKey(signingKey);
+        this.accessTokenConverter.setVerifier(new MacSigner(signingKey));
+    }
+
+    /**
+     * 인가 서버가 토큰을 서명할 때 쓰는 TokenEnhancer
+     */
+    public JwtAccessTokenConverter getAccessTokenConverter() {
+        return accessTokenConverter;
+    }
+
+    /**
+     * DefaultTokenServices는 readAccessToken -> readAuthentication(token) 순서로 부르기 때문에
+     * 서명 검증은 한번만 하고 인증 정보는 토큰에 담아서 넘긴다.
+     */
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        Map<String, Object> claims = this.accessTokenConverter.decodeClaims(tokenValue);
+        if (claims.containsKey(JwtAccessTokenConverter.ACCESS_TOKEN_ID)) {
+            throw new InvalidTokenException("Encoded token is a refresh token");
+        }
+        return new SignedAccessToken(this.accessTokenConverter.extractAccessToken(tokenValue, claims),
+                this.accessTokenConverter.extractAuthentication(claims));
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(OAuth2AccessToken token) {
+        if (token instanceof SignedAccessToken) {
+            return ((SignedAccessToken) token).authentication;
+        }
+        return readAuthentication(token.getValue());
+    }
+
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        return ((SignedAccessToken) readAccessToken(token)).authentication;
+    }
+
+    @Override
+    public void storeAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+    }
+
+    @Override
+    public void removeAccessToken(OAuth2AccessToken token) {
+    }
+
+    @Override
+    public void removeAccessTokenUsingRefreshToken(OAuth2RefreshToken refreshToken) {
+    }
+
+    /**
+     * 발급한 액세스 토큰을 기억하지 않으므로 항상 새로 발급한다.
+     */
+    @Override
+    public OAuth2AccessToken getAccessToken(OAuth2Authentication authentication) {
+        return null;
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientIdAndUserName(String clientId, String userName) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Collection<OAuth2AccessToken> findTokensByClientId(String clientId) {
+        return Collections.emptySet();
+    }
+
+    private static class SigningConverter extends JwtAccessTokenConverter {
+
+        /**
+         * 서명이 맞지 않으면 InvalidTokenException
+         */
+        Map<String, Object> decodeClaims(String tokenValue) {
+            return decode(tokenValue);
+        }
+    }
+
+    private static class SignedAccessToken extends DefaultOAuth2AccessToken {
+
+        private final transient OAuth2Authentication authentication;
+
+        SignedAccessToken(OAuth2AccessToken token, OAuth2Authentication authentication) {
+            super(token);
+            this.authentication = authentication;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.study.springrestapi.configs;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 요청 하나가 보낸 SQL 문장 수, 읽거나 바꾼 행 수, DB 시간을 모은다.
+ * SqlStatisticsFilter가 요청 스레드에 begin/end 하고, SqlStatisticsDataSource가 문장을 실행할 때마다 기록한다.
+ * 요청 밖(시작 시 색인 빌드 등)에서는 current()가 null이라 아무것도 기록하지 않는다.
+ * 같은 SELECT(바인딩 전 SQL)가 여러 번 나가면 N+1 의심으로 본다.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private long rows;
+
+    private long nanos;
+
+    private final Map<String, Integer> selects = new HashMap<>();
+
+    static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statement(String sql, long nanos) {
+        this.statements++;
+        this.nanos += nanos;
+        if (sql != null && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            this.selects.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rows(long rows) {
+        this.rows += rows;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * ResultSet에서 읽은 행 수와 INSERT/UPDATE/DELETE가 바꾼 행 수의 합
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * threshold 번 이상 반복된 SELECT
+     */
+    public List<String> suspectedNPlusOne(int threshold) {
+        List<String> repeated = new ArrayList<>();
+        this.selects.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.add(sql);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,163 @@
+package com.study.springrestapi.configs;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 커넥션 풀 앞에 두고 요청 스레드에서 실행한 문장을 SqlStatistics에 기록하는 DataSource
+ * 요청 밖에서 만든 Statement는 감싸지 않으므로 시작 시 색인 빌드 같은 작업에는 비용이 없다.
+ * execute* 호출 시간만 DB 시간으로 세고, 행 수는 ResultSet.next()와 update count로 센다.
+ */
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        DelegatingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                default: return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(this.target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends DelegatingHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (!(result instanceof Statement) || SqlStatistics.current() == null) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, new StatementHandler(result, sql));
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, new StatementHandler(result, sql));
+            }
+            return proxy(Statement.class, new StatementHandler(result, sql));
+        }
+    }
+
+    private static class StatementHandler extends DelegatingHandler {
+
+        private final String sql;
+
+        StatementHandler(Object target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics == null) {
+                return delegate(method, args);
+            }
+            if (method.getName().equals("getResultSet")) {
+                return resultSet(delegate(method, args), statistics);
+            }
+            if (!method.getName().startsWith("execute")) {
+                return delegate(method, args);
+            }
+
+            String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : this.sql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = delegate(method, args);
+            } finally {
+                statistics.statement(executed, System.nanoTime() - start);
+            }
+            if (result instanceof Number && !method.getName().equals("execute")) {
+                statistics.rows(Math.max(0, ((Number) result).longValue()));
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    statistics.rows(Math.max(0, count));
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    statistics.rows(Math.max(0, count));
+                }
+            }
+            return resultSet(result, statistics);
+        }
+
+        private static Object resultSet(Object result, SqlStatistics statistics) {
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, statistics));
+            }
+            return result;
+        }
+    }
+
+    private static class ResultSetHandler extends DelegatingHandler {
+
+        private final SqlStatistics statistics;
+
+        ResultSetHandler(ResultSet target, SqlStatistics statistics) {
+            super(target);
+            this.statistics = statistics;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                this.statistics.rows(1);
+            }
+            return result;
+        }
+    }
+}
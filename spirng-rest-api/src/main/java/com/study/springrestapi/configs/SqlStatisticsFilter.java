@@ -0,0 +1,146 @@
+package com.study.springrestapi.configs;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 SqlStatistics를 열고 끝나면 메트릭과 응답 헤더로 내보낸다.
+ * - 헤더: X-SQL-Statements, X-SQL-Rows, X-SQL-Time(ms), X-SQL-Suspected-N-Plus-One(반복된 SELECT 종류 수)
+ *   헤더는 본문을 쓰기 직전의 값이다. (export처럼 본문을 쓰면서 조회하는 요청은 메트릭에만 전체가 남는다)
+ * - 메트릭: http.sql.statements, http.sql.rows, http.sql.time, http.sql.n-plus-one (method, uri 태그)
+ * 같은 SELECT가 my-app.sql-n-plus-one-threshold 번 이상 나가면 WARN 로그를 남긴다.
+ */
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+
+    public static final String TIME_HEADER = "X-SQL-Time";
+
+    public static final String N_PLUS_ONE_HEADER = "X-SQL-Suspected-N-Plus-One";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int nPlusOneThreshold;
+
+    private final boolean headers;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, int nPlusOneThreshold, boolean headers) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.headers = headers;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.begin();
+        StatisticsResponse statisticsResponse = new StatisticsResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, this.headers ? statisticsResponse : response);
+        } finally {
+            SqlStatistics.end();
+            if (this.headers && !response.isCommitted()) {
+                statisticsResponse.writeHeaders();
+            }
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+        DistributionSummary.builder("http.sql.statements").tags(tags).register(this.meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("http.sql.rows").tags(tags).register(this.meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("http.sql.time").tags(tags).register(this.meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+
+        List<String> repeated = statistics.suspectedNPlusOne(this.nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            this.meterRegistry.counter("http.sql.n-plus-one", tags).increment();
+            log.warn("Suspected N+1 on {} {}: {}", request.getMethod(), request.getRequestURI(), repeated);
+        }
+    }
+
+    /**
+     * 본문을 쓰기 시작하면 헤더를 더 붙일 수 없으므로 그 직전에 헤더를 채운다.
+     */
+    private class StatisticsResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+
+        private boolean written;
+
+        StatisticsResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if (this.written) {
+                return;
+            }
+            this.written = true;
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            response.setHeader(STATEMENTS_HEADER, String.valueOf(this.statistics.getStatements()));
+            response.setHeader(ROWS_HEADER, String.valueOf(this.statistics.getRows()));
+            response.setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(this.statistics.getNanos())));
+            response.setHeader(N_PLUS_ONE_HEADER, String.valueOf(this.statistics.suspectedNPlusOne(nPlusOneThreshold).size()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
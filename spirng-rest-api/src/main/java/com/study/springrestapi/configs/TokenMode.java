@@ -0,0 +1,10 @@
+package com.study.springrestapi.configs;
+
+/**
+ * 액세스 토큰 발급 방식
+ * - STORE: 랜덤 값 토큰을 BoundedTokenStore에 저장하고 요청마다 조회한다.
+ * - JWT: 서명된 JWT를 발급하고 리소스 서버는 서명만 검증한다. 리프레시 토큰은 그대로 저장소에 둔다.
+ */
+public enum TokenMode {
+    STORE, JWT
+}
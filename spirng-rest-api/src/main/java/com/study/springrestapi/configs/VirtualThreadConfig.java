@@ -0,0 +1,37 @@
+package com.study.springrestapi.configs;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * my-app.virtual-threads=true 이면 Tomcat이 요청마다 가상 스레드를 만들어 처리한다. (JDK 21 이상)
+ * 느린 DB에서 블로킹된 요청이 고정 크기 요청 스레드 풀(server.tomcat.threads.max)을 다 잡고 있어서
+ * DB가 필요 없는 요청(응답 캐시 hit 등)까지 밀리는 것을 막는다.
+ * 동시에 DB를 쓰는 요청 수는 여전히 커넥션 풀(spring.datasource.hikari.maximum-pool-size)이 제한한다.
+ * 지원하지 않는 JDK에서 켜면 시작할 때 실패한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "my-app", name = "virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    public static final String EXECUTOR_BEAN_NAME = "virtualThreadExecutor";
+
+    /**
+     * Tomcat은 밖에서 넣어준 executor를 종료하지 않으므로 컨텍스트가 닫힐 때 shutdown 한다.
+     */
+    @Bean(name = EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newExecutor("http-vt-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            @Qualifier(EXECUTOR_BEAN_NAME) ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
@@ -0,0 +1,87 @@
+package com.study.springrestapi.configs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * JDK 21 이상의 가상 스레드 API를 Java 11로 컴파일된 코드에서 쓰기 위한 진입점
+ * Thread.ofVirtual().name(prefix, 0).factory()와 Executors.newThreadPerTaskExecutor(factory)를 MethodHandle로 부른다.
+ * 지원하지 않는 JDK에서는 isSupported()가 false이고 newExecutor는 IllegalStateException을 던진다.
+ */
+public final class VirtualThreads {
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final MethodHandle IS_VIRTUAL;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        MethodHandle isVirtual = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(ofVirtualBuilder, "name", MethodType.methodType(ofVirtualBuilder, String.class, long.class));
+            factory = lookup.findVirtual(builder, "factory", MethodType.methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            // JDK 21 미만
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        IS_VIRTUAL = isVirtual;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * 작업마다 새 가상 스레드를 만드는 ExecutorService, 스레드 이름은 namePrefix0, namePrefix1, ...
+     */
+    public static ExecutorService newExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require JDK 21 or later, current: " + Runtime.version());
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(), namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) FACTORY.invoke(builder);
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(factory);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        if (!isSupported()) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
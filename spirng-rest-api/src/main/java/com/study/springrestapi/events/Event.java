@@ -1,5 +1,6 @@
 package com.study.springrestapi.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.study.springrestapi.member.Member;
 import lombok.*;
 
@@ -29,6 +30,18 @@ import java.time.LocalDateTime;
  * 커스터마이징해서 사용자가 원하는 Annotation을 만들어서 사용할 수 있다.
  * 하지만 Lombok에서는 적용이 안되므로 차후 업데이트가 이뤄지게 된다면 가능하다.
  */
+/**
+ * 키셋 페이지네이션(EventCursor)은 (정렬 키, id) 순서로 인덱스를 타야 페이지 깊이와 상관없이 일정한 시간이 걸린다.
+ * 목록 필터(EventSpecifications)는 자주 쓰는 조합을 같은 값 조건 -> 범위 조건 순서의 복합 인덱스로 받친다.
+ */
+@Table(indexes = {
+        @Index(name = "idx_event_name_id", columnList = "name, id"),
+        @Index(name = "idx_event_begin_event_date_time_id", columnList = "beginEventDateTime, id"),
+        @Index(name = "idx_event_status_begin_enrollment", columnList = "eventStatus, beginEnrollmentDateTime, closeEnrollmentDateTime"),
+        @Index(name = "idx_event_status_base_price", columnList = "eventStatus, basePrice"),
+        @Index(name = "idx_event_free_offline_base_price", columnList = "free, offline, basePrice"),
+        @Index(name = "idx_event_manager_status", columnList = "manager_id, eventStatus")
+})
 @Entity
 public class Event {
     /**
@@ -37,8 +50,13 @@ public class Event {
      * Enumerated(EnumType.STRING)
      * Enum의 설정되어있는 String 기준으로 가져온다.
      */
+    /**
+     * allocationSize 만큼 시퀀스 값을 한번에 받아두고(pooled) 그 안에서 id를 채운다.
+     * 이벤트 여러 개를 저장할 때 INSERT마다 시퀀스를 조회하지 않는다.
+     */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
     private String name;
     private String description;
@@ -61,6 +79,14 @@ public class Event {
     private EventStatus  eventStatus = EventStatus.DRAFT;
     @ManyToOne
     private Member manager;
+    // 수정될 때마다 1씩 올라간다. ETag와 낙관적 잠금(If-Match)에 사용한다.
+    @Version
+    private Integer version;
+    // 조회수. EventViewCounter가 메모리에서 모아서 주기적으로 더하므로 엔티티 UPDATE(수정, version 증가)에는 들어가지 않는다.
+    // version과 상관없이 바뀌므로 ETag를 붙이는 이벤트 본문에는 넣지 않고 GET /api/events/{id}/views로 따로 응답한다.
+    @JsonIgnore
+    @Column(updatable = false)
+    private long viewCount;
 
     public void update() {
         // Update free
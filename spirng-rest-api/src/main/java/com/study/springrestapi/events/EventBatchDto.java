@@ -0,0 +1,48 @@
+package com.study.springrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import javax.validation.GroupSequence;
+import javax.validation.Valid;
+import javax.validation.groups.Default;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * POST /api/events/batch 요청 본문 (EventDto JSON 배열)
+ * 배열을 그대로 List로 받으면 @Valid가 원소까지 내려가지 않으므로 한번 감싼다.
+ * 에러의 field는 events[0].name 처럼 몇 번째 이벤트인지 담긴다.
+ */
+public class EventBatchDto {
+
+    public static final int MAX_SIZE = 10_000;
+
+    /**
+     * @Validated(EventBatchDto.ValidationOrder.class)로 검증하면 개수 제한(Limits)을 먼저 검사하고,
+     * 통과했을 때만 이벤트 하나하나를 검증한다. (Default)
+     */
+    @GroupSequence({Limits.class, Default.class})
+    interface ValidationOrder {
+    }
+
+    interface Limits {
+    }
+
+    @NotEmpty(groups = Limits.class)
+    @Size(max = MAX_SIZE, groups = Limits.class)
+    private final List<@NotNull @Valid EventDto> events;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public EventBatchDto(List<EventDto> events) {
+        this.events = events;
+    }
+
+    // 응답이나 테스트에서 직렬화할 때도 배열로 쓴다.
+    @JsonValue
+    public List<EventDto> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,59 @@
+package com.study.springrestapi.events;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * PATCH로 값이 실제로 바뀐 Event 컬럼(프로퍼티 이름 -> 새 값)
+ * free, offline은 Event.update()로 다시 계산한 값이 달라졌을 때 같이 담긴다.
+ */
+final class EventChanges {
+
+    static final List<String> PROPERTIES = List.of("name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime",
+            "location", "basePrice", "maxPrice", "limitOfEnrollment", "offline", "free");
+
+    private final Map<String, Object> values;
+
+    private EventChanges(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * @param after : 수정할 값으로 만든 Event (update()까지 호출한 상태)
+     */
+    static EventChanges between(Event before, Event after) {
+        BeanWrapper beforeWrapper = PropertyAccessorFactory.forBeanPropertyAccess(before);
+        BeanWrapper afterWrapper = PropertyAccessorFactory.forBeanPropertyAccess(after);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String property : PROPERTIES) {
+            Object value = afterWrapper.getPropertyValue(property);
+            if (!Objects.equals(beforeWrapper.getPropertyValue(property), value)) {
+                values.put(property, value);
+            }
+        }
+        return new EventChanges(Collections.unmodifiableMap(values));
+    }
+
+    boolean isEmpty() {
+        return this.values.isEmpty();
+    }
+
+    Map<String, Object> getValues() {
+        return values;
+    }
+
+    /**
+     * UPDATE 뒤에 응답을 만들 수 있도록 바뀐 값과 올라간 version을 Event 객체에 반영한다.
+     */
+    void applyTo(Event event) {
+        PropertyAccessorFactory.forBeanPropertyAccess(event).setPropertyValues(this.values);
+        event.setVersion(event.getVersion() + 1);
+    }
+}
@@ -1,44 +1,93 @@
 package com.study.springrestapi.events;
 
+import com.study.springrestapi.common.BinaryMediaTypes;
 import com.study.springrestapi.common.ErrorsResource;
-import org.modelmapper.ModelMapper;
+import com.study.springrestapi.common.HalRenderer;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Controller
-@RequestMapping(value = "/api/events",produces = MediaTypes.HAL_JSON_VALUE)
+@RequestMapping(value = "/api/events",produces = {MediaTypes.HAL_JSON_VALUE, BinaryMediaTypes.CBOR_VALUE, BinaryMediaTypes.SMILE_VALUE})
 public class EventController {
 
     private final EventRepository eventRepository;
 
-    private final ModelMapper modelMapper;
+    private final EventMapper eventMapper;
 
     private final EventValidator eventValidator;
 
-    public EventController(EventRepository eventRepository,ModelMapper modelMapper, EventValidator eventValidator) {
-        this.modelMapper = modelMapper;
+    private final EventResponseCache eventResponseCache;
+
+    private final HalRenderer halRenderer;
+
+    private final EventExporter eventExporter;
+
+    private final EventImporter eventImporter;
+
+    private final EventSearchIndex eventSearchIndex;
+
+    private final EventWindowIndex eventWindowIndex;
+
+    private final EventViewCounter eventViewCounter;
+
+    public EventController(EventRepository eventRepository,EventMapper eventMapper, EventValidator eventValidator,
+                           EventResponseCache eventResponseCache, HalRenderer halRenderer,
+                           EventExporter eventExporter, EventImporter eventImporter, EventSearchIndex eventSearchIndex,
+                           EventWindowIndex eventWindowIndex, EventViewCounter eventViewCounter) {
+        this.eventMapper = eventMapper;
         this.eventRepository = eventRepository;
         this.eventValidator = eventValidator;
+        this.eventResponseCache = eventResponseCache;
+        this.halRenderer = halRenderer;
+        this.eventExporter = eventExporter;
+        this.eventImporter = eventImporter;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventWindowIndex = eventWindowIndex;
+        this.eventViewCounter = eventViewCounter;
     }
 
     @PostMapping
-    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto , Errors errors){
+    public ResponseEntity createEvent(@RequestBody @Valid EventDto eventDto , Errors errors, NativeWebRequest webRequest){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (errors.hasErrors()){
@@ -49,16 +98,79 @@ public class EventController {
         if (errors.hasErrors()){
             return badRequest(errors);
         }
-        Event event = modelMapper.map(eventDto, Event.class);
+        Event event = eventMapper.toEvent(eventDto);
         event.update();
         Event newEvent = this.eventRepository.save(event);
-        WebMvcLinkBuilder selfLinkBuilder = linkTo(EventController.class).slash(newEvent.getId());
-        URI createUri = selfLinkBuilder.toUri();
+        this.eventResponseCache.invalidate(newEvent.getId());
+        this.eventSearchIndex.index(newEvent);
+        this.eventWindowIndex.index(newEvent);
+        Link updateLink = EventLinks.item(newEvent.getId(), LinkRelation.of("update-events"));
+        URI createUri = URI.create(updateLink.getHref());
         EventResource eventResource = new EventResource(event);
-        eventResource.add(linkTo(EventController.class).withRel("query-events"));
-        eventResource.add(selfLinkBuilder.withRel("update-events"));
+        eventResource.add(EventLinks.collection("query-events"));
+        eventResource.add(updateLink);
         eventResource.add(Link.of("/docs/index.html#resources-events-create").withRel("profile"));
-        return ResponseEntity.created(createUri).body(eventResource);
+        return ResponseEntity.created(createUri).eTag(EventETag.of(newEvent, negotiate(webRequest))).body(eventResource);
+    }
+
+    /**
+     * Event 일괄 생성 API
+     * 모든 이벤트가 @Valid와 EventValidator 검증을 통과해야 저장하고, 하나라도 실패하면 아무것도 저장하지 않는다.
+     * 에러는 createEvent와 같은 형식이고 field에 events[i]. 가 붙는다. 몇 번째 이벤트인지와 상관없이 에러를 모두 모아서 응답한다.
+     * 저장은 EventRepository.saveAllInBatches가 JDBC 배치로 한다.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity createEvents(@RequestBody @Validated(EventBatchDto.ValidationOrder.class) EventBatchDto eventBatchDto, Errors errors){
+        // 비어있거나 MAX_SIZE를 넘으면 이벤트를 하나씩 검증하지 않았으므로 events 에러만 있다.
+        if (errors.hasFieldErrors("events")){
+            return badRequest(errors);
+        }
+        List<EventDto> eventDtos = eventBatchDto.getEvents();
+
+        // 한번에 모든 이벤트의 에러를 돌려주기 위해 @Valid 에러가 있어도 나머지 이벤트를 계속 검증한다.
+        // 이미 에러가 난 이벤트는 EventValidator가 null 값을 만날 수 있으므로 건너뛴다.
+        for (int i = 0; i < eventDtos.size(); i++) {
+            String path = "events[" + i + "]";
+            if (errors.hasFieldErrors(path) || errors.hasFieldErrors(path + ".*")) {
+                continue;
+            }
+            errors.pushNestedPath(path);
+            this.eventValidator.validate(eventDtos.get(i), errors);
+            errors.popNestedPath();
+        }
+        if (errors.hasErrors()){
+            return badRequest(errors);
+        }
+
+        List<Event> events = eventDtos.stream()
+                .map(eventDto -> {
+                    Event event = this.eventMapper.toEvent(eventDto);
+                    event.update();
+                    return event;
+                })
+                .collect(Collectors.toList());
+        this.eventRepository.saveAllInBatches(events);
+        events.forEach(this.eventSearchIndex::index);
+        events.forEach(this.eventWindowIndex::index);
+
+        List<EventResource> eventResources = events.stream()
+                .map(EventResource::new)
+                .collect(Collectors.toList());
+        var collectionModel = CollectionModel.of(eventResources);
+        collectionModel.add(EventLinks.collection("query-events"));
+        collectionModel.add(Link.of("/docs/index.html#resources-events-batch-create").withRel("profile"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(collectionModel);
+    }
+
+    /**
+     * Event NDJSON 가져오기 API
+     * 요청 본문을 한번에 읽지 않고 EventImporter가 chunk 단위로 읽고, 검증하고, 저장하면서 줄마다 결과를 응답에 바로 쓴다.
+     * 일부 줄이 잘못되어도 나머지는 저장되므로 항상 200으로 응답하고, 줄마다 status(created, invalid, failed)를 확인해야 한다.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importEvents(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        this.eventImporter.importEvents(request.getInputStream(), response.getOutputStream());
     }
 
     /**
@@ -66,38 +178,309 @@ public class EventController {
      * @param pageable : 페이지 정보를 가져올 수 있는
      * @param assembler : 페이지에 대한 링크가 없다. 페이지에 대한 링크 정보를 Resource로 전달하기 위해 사용한다.
      *                  페이지와 관련된 링크는, 현재 페이지 , 이전 , 다음, 마지막 페이지 등과 같은 정보를 이야기한다.
+     * @param webRequest : If-None-Match가 현재 페이지의 ETag와 같으면 리소스를 만들지 않고 304로 응답한다.
+     * @param condition : 필터 조건 (eventStatus, free, offline, priceFrom, priceTo, enrollmentFrom, enrollmentTo, manager)
+     * @param fields : 쉼표로 나눈 프로퍼티 이름 (sparse fieldset). 있으면 엔티티 대신 고른 컬럼만 조회한다. (EventFields)
      */
     @GetMapping
-    public ResponseEntity queryEvent(Pageable pageable, PagedResourcesAssembler<Event> assembler){
-        Page<Event> page = this.eventRepository.findAll(pageable);
-        var pagedResources = assembler.toModel(page, e-> new EventResource(e));
+    public ResponseEntity queryEvent(EventSearchCondition condition, Errors errors, @RequestParam(required = false) String fields,
+                                     Pageable pageable, PagedResourcesAssembler<Event> assembler, NativeWebRequest webRequest){
+        this.eventValidator.validate(condition, errors);
+        EventFields eventFields = parseFields(fields, errors);
+        if (errors.hasErrors()){
+            return badRequest(errors);
+        }
+        if (eventFields != null) {
+            Page<EventProjection> page = this.eventRepository.findAllProjected(EventSpecifications.of(condition), eventFields, pageable);
+            if (webRequest.checkNotModified(EventETag.ofProjections(page.getContent(), negotiate(webRequest), page.getTotalElements(), eventFields))) {
+                return null;
+            }
+            var pagedResources = projectionAssembler(assembler).toModel(page, EventController::toModel);
+            pagedResources.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+            return ResponseEntity.ok(pagedResources);
+        }
+        Page<Event> page = this.eventRepository.findAll(EventSpecifications.of(condition), pageable);
+        // 304 응답 상태와 ETag 헤더는 checkNotModified가 채워두므로 null을 반환하면 된다.
+        if (webRequest.checkNotModified(EventETag.of(page.getContent(), negotiate(webRequest), page.getTotalElements()))) {
+            return null;
+        }
+        var pagedResources = new EventPagedModel(assembler.toModel(page, EventResource::new));
         pagedResources.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
         return ResponseEntity.ok(pagedResources);
     }
 
+    /**
+     * Event 목록 조회 API (키셋 페이지네이션)
+     * after 파라미터가 있으면 OFFSET과 count 쿼리 없이 이전 페이지의 마지막 (정렬 키, id) 다음부터 조회한다.
+     * 첫 페이지는 after= (빈 값)으로 요청하고, 이후에는 응답의 next 링크를 따라간다.
+     * PagedResourcesAssembler는 전체 개수(Page)가 있어야 링크를 만들 수 있으므로 여기서는 next 링크를 직접 만든다.
+     * @param after : 이전 응답의 next 링크에 담긴 불투명한 커서 토큰
+     * @param pageable : size와 첫 페이지의 sort만 사용한다. (정렬 기준은 하나, id가 보조 정렬 키로 붙는다)
+     * @param condition : queryEvent와 같은 필터 조건, next 링크에 그대로 남는다.
+     * @param fields : queryEvent와 같은 sparse fieldset
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity queryEventAfter(@RequestParam String after, EventSearchCondition condition, Errors errors,
+                                          @RequestParam(required = false) String fields, Pageable pageable, NativeWebRequest webRequest){
+        this.eventValidator.validate(condition, errors);
+        EventFields eventFields = parseFields(fields, errors);
+        if (errors.hasErrors()){
+            return badRequest(errors);
+        }
+        EventCursor cursor = null;
+        if (!after.isEmpty()) {
+            try {
+                cursor = EventCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                return badCursor("wrongCursor", "Cursor is wrong");
+            }
+        }
+        Sort.Order order = cursor != null
+                ? cursor.getOrder()
+                : pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!EventCursor.isSortable(order.getProperty())) {
+            return badCursor("wrongSort", "Sort property is not supported for cursor pagination");
+        }
+
+        int size = pageable.getPageSize();
+        List<? extends RepresentationModel<?>> models;
+        EventCursor next = null;
+        if (eventFields != null) {
+            List<EventProjection> events = this.eventRepository.findAllProjectedAfter(EventSpecifications.of(condition), eventFields, order, cursor, size + 1);
+            boolean hasNext = events.size() > size;
+            if (hasNext) {
+                events = events.subList(0, size);
+                next = EventCursor.after(events.get(events.size() - 1), order);
+            }
+            if (webRequest.checkNotModified(EventETag.ofProjections(events, negotiate(webRequest), hasNext, eventFields))) {
+                return null;
+            }
+            models = events.stream()
+                    .map(EventController::toModel)
+                    .collect(Collectors.toList());
+        } else {
+            List<Event> events = this.eventRepository.findAllAfter(EventSpecifications.of(condition), order, cursor, size + 1);
+            boolean hasNext = events.size() > size;
+            if (hasNext) {
+                events = events.subList(0, size);
+                next = EventCursor.after(events.get(events.size() - 1), order);
+            }
+            if (webRequest.checkNotModified(EventETag.of(events, negotiate(webRequest), hasNext))) {
+                return null;
+            }
+            models = events.stream()
+                    .map(EventResource::new)
+                    .collect(Collectors.toList());
+        }
+
+        var collectionModel = CollectionModel.of(models);
+        collectionModel.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+        if (next != null) {
+            collectionModel.add(Link.of(ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", next.encode())
+                    .replaceQueryParam("page")
+                    .toUriString()).withRel("next"));
+        }
+        collectionModel.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    private static EventFields parseFields(String fields, Errors errors) {
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return EventFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            errors.reject("wrongFields", e.getMessage());
+            return null;
+        }
+    }
 
+    private static EntityModel<EventProjection> toModel(EventProjection event) {
+        return EntityModel.of(event, EventLinks.self(event.getId()));
+    }
+
+    /**
+     * PagedResourcesAssembler는 요청마다 새로 만들어지고 타입 파라미터는 링크를 만들 때 쓰지 않는다.
+     */
+    @SuppressWarnings("unchecked")
+    private static PagedResourcesAssembler<EventProjection> projectionAssembler(PagedResourcesAssembler<Event> assembler) {
+        return (PagedResourcesAssembler<EventProjection>) (PagedResourcesAssembler<?>) assembler;
+    }
+
+    /**
+     * Event 검색 API
+     * 이름과 설명의 메모리 역색인(EventSearchIndex)에서 검색어의 모든 단어가 들어있는 이벤트를 점수 순서로 찾는다.
+     * DB는 찾은 페이지의 이벤트를 id로 읽을 때만 조회한다. 정렬(sort)은 무시한다.
+     * @param q : 검색어 (공백, 문장부호로 단어를 나눈다)
+     */
+    @GetMapping("/search")
+    public ResponseEntity searchEvents(@RequestParam String q, Pageable pageable, PagedResourcesAssembler<Event> assembler){
+        if (EventSearchIndex.tokenize(q).isEmpty()) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "search");
+            errors.reject("wrongQuery", "Query must contain at least one word");
+            return badRequest(errors);
+        }
+        Page<Integer> ids = this.eventSearchIndex.search(q, pageable);
+        var pagedResources = new EventPagedModel(assembler.toModel(findAllInOrder(ids), EventResource::new));
+        pagedResources.add(Link.of("/docs/index.html#resources-events-search").withRel("profile"));
+        return ResponseEntity.ok(pagedResources);
+    }
+
+    /**
+     * Event 기간 조회 API
+     * 등록 기간(ENROLLMENT)이나 이벤트 기간(EVENT)이 from ~ to 와 겹치는 이벤트를 메모리 구간 트리(EventWindowIndex)에서 찾는다.
+     * 시작 시간, id 순서로 반환하고 정렬(sort)은 무시한다.
+     * @param on : 찾을 기간 (기본값 ENROLLMENT)
+     * @param at : 이 시간을 포함하는 이벤트 (from = to = at). from, to, at 모두 없으면 지금 시간이다.
+     */
+    @GetMapping("/window")
+    public ResponseEntity queryEventWindow(@RequestParam(defaultValue = "ENROLLMENT") EventWindow on,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                           Pageable pageable, PagedResourcesAssembler<Event> assembler){
+        if (at != null && (from != null || to != null)) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "window");
+            errors.reject("wrongWindow", "Use either at or from/to");
+            return badRequest(errors);
+        }
+        if (at == null && from == null && to == null) {
+            at = LocalDateTime.now();
+        }
+        if (at != null) {
+            from = at;
+            to = at;
+        }
+        from = from != null ? from : to;
+        to = to != null ? to : from;
+        if (from.isAfter(to)) {
+            Errors errors = new MapBindingResult(new HashMap<>(), "window");
+            errors.reject("wrongWindow", "from must not be after to");
+            return badRequest(errors);
+        }
+
+        Page<Integer> ids = this.eventWindowIndex.search(on, from, to, pageable);
+        var pagedResources = new EventPagedModel(assembler.toModel(findAllInOrder(ids), EventResource::new));
+        pagedResources.add(Link.of("/docs/index.html#resources-events-window").withRel("profile"));
+        return ResponseEntity.ok(pagedResources);
+    }
+
+    /**
+     * 메모리 색인에서 찾은 id 페이지를 DB에서 읽어서 id 순서 그대로 Event 페이지로 만든다.
+     */
+    private Page<Event> findAllInOrder(Page<Integer> ids) {
+        Map<Integer, Event> events = this.eventRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        // 색인을 거치지 않고 지워진 이벤트는 색인에서도 뺀다.
+        ids.getContent().stream()
+                .filter(id -> !events.containsKey(id))
+                .forEach(id -> {
+                    this.eventSearchIndex.remove(id);
+                    this.eventWindowIndex.remove(id);
+                });
+        List<Event> content = ids.getContent().stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Event 전체 내보내기 API
+     * 페이지 단위로 모으지 않고 DB에서 읽는 대로 응답에 바로 쓴다. (EventExporter)
+     * Accept 헤더가 text/csv 면 CSV, 그 외에는 NDJSON(한 줄에 Event 하나)으로 응답한다.
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, EventExportFormat.TEXT_CSV_VALUE})
+    public void exportEvents(@RequestHeader HttpHeaders headers, HttpServletResponse response) throws IOException {
+        EventExportFormat format = EventExportFormat.of(headers.getAccept());
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("events." + format.getExtension())
+                .build().toString());
+        this.eventExporter.export(format, response.getOutputStream());
+    }
+
+    /**
+     * 직렬화까지 끝난 HAL 바이트를 Accept로 고른 형식(HAL JSON, CBOR, Smile)별로 EventResponseCache에 담아두고,
+     * 캐시에 있으면 JPA와 Jackson을 거치지 않고 바로 내보낸다.
+     * ETag는 Event의 version에 형식을 붙인 값이다. (EventETag) If-None-Match가 같으면 본문 없이 304로 응답한다.
+     * 있는 이벤트면 캐시, 304 여부와 상관없이 EventViewCounter에 조회수를 기록한다. (DB에는 쓰지 않는다)
+     * 조회수는 본문에 넣지 않는다. (getEventViews)
+     */
     @GetMapping("/{id}")
-    public ResponseEntity getEvent(@PathVariable Integer id){
-        Optional<Event> optionalEvent = this.eventRepository.findById(id);
-        if(optionalEvent.isEmpty()){
+    public ResponseEntity getEvent(@PathVariable Integer id, NativeWebRequest webRequest){
+        String baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+        MediaType mediaType = negotiate(webRequest);
+        EventResponseCache.CachedResponse cached = this.eventResponseCache.get(id, baseUri, mediaType);
+        if (cached == null) {
+            Optional<Event> optionalEvent = this.eventRepository.findById(id);
+            if(optionalEvent.isEmpty()){
+                return ResponseEntity.notFound().build();
+            }
+            Event event = optionalEvent.get();
+            this.eventViewCounter.record(id);
+            if (webRequest.checkNotModified(EventETag.of(event, mediaType))) {
+                return null;
+            }
+            EventResource eventResource = new EventResource(event);
+            eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+            byte[] body = this.halRenderer.render(eventResource, mediaType);
+            cached = this.eventResponseCache.put(id, baseUri, event.getVersion(), mediaType, body);
+        } else {
+            this.eventViewCounter.record(id);
+            if (webRequest.checkNotModified(cached.getETag(mediaType))) {
+                return null;
+            }
+        }
+        return ResponseEntity.ok().eTag(cached.getETag(mediaType)).contentType(mediaType).body(cached.getBody(mediaType));
+    }
+
+    /**
+     * 이벤트 조회수 API
+     * 조회수는 이벤트를 조회할 때마다 바뀌므로 version으로 ETag를 붙이는 이벤트 본문에서 빼고 여기서 따로 응답한다.
+     * DB에 더해진 값과 아직 flush 하지 않은 값을 더해서 매번 새로 계산하므로 ETag 없이 no-cache로 응답한다.
+     */
+    @GetMapping("/{id}/views")
+    public ResponseEntity getEventViews(@PathVariable Integer id){
+        Optional<Long> viewCount = this.eventRepository.findViewCountById(id);
+        if (viewCount.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        Event event = optionalEvent.get();
-        EventResource eventResource = new EventResource(event);
-        eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
-        return ResponseEntity.ok(eventResource);
+        EventViews eventViews = new EventViews(id, viewCount.get() + this.eventViewCounter.pending(id));
+        eventViews.add(Link.of(EventLinks.self(id).getHref() + "/views").withSelfRel());
+        eventViews.add(EventLinks.item(id, LinkRelation.of("event")));
+        eventViews.add(Link.of("/docs/index.html#resources-events-views").withRel("profile"));
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(eventViews);
     }
 
     private ResponseEntity badRequest(Errors errors) {
         return ResponseEntity.badRequest().body(ErrorsResource.modelOf(errors));
     }
 
+    private ResponseEntity badCursor(String errorCode, String defaultMessage) {
+        Errors errors = new MapBindingResult(new HashMap<>(), "cursor");
+        errors.reject(errorCode, defaultMessage);
+        return badRequest(errors);
+    }
+
+    /**
+     * If-Match 헤더가 있으면 현재 ETag와 같을 때만 수정하고, 다르면 412로 응답한다.
+     * 조회와 저장 사이에 다른 요청이 먼저 수정한 경우에도 @Version 검사에 걸려서 412로 응답한다.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors){
+    public ResponseEntity updateEvent(@PathVariable Integer id, @RequestBody @Valid EventDto eventDto, Errors errors,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                      NativeWebRequest webRequest){
         Optional<Event> optionalEvent = this.eventRepository.findById(id);
         if (optionalEvent.isEmpty()){
             return ResponseEntity.notFound().build();
         }
+        Event existingEvent = optionalEvent.get();
+        if (ifMatch != null && !EventETag.matches(ifMatch, existingEvent)) {
+            return preconditionFailed(existingEvent, webRequest);
+        }
         if (errors.hasErrors()){
             return badRequest(errors);
         }
@@ -106,13 +489,79 @@ public class EventController {
         if (errors.hasErrors()){
             return badRequest(errors);
         }
-        Event existingEvent = optionalEvent.get();
-        this.modelMapper.map(eventDto, existingEvent);
-        Event savedEvent = this.eventRepository.save(existingEvent);
+        this.eventMapper.updateEvent(eventDto, existingEvent);
+        Event savedEvent;
+        try {
+            savedEvent = this.eventRepository.save(existingEvent);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            this.eventResponseCache.invalidate(id);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+        this.eventResponseCache.invalidate(id, savedEvent.getVersion());
+        this.eventSearchIndex.index(savedEvent);
+        this.eventWindowIndex.index(savedEvent);
 
         EventResource eventResource = new EventResource(savedEvent);
         eventResource.add(Link.of("/docs/index.html#resources-events-update").withRel("profile"));
 
-        return ResponseEntity.ok(eventResource);
+        return ResponseEntity.ok().eTag(EventETag.of(savedEvent, negotiate(webRequest))).body(eventResource);
+    }
+
+    /**
+     * Event 부분 수정 API
+     * 보낸 값을 현재 이벤트에 합쳐서 updateEvent와 같은 검증을 하고, 실제로 바뀐 컬럼(다시 계산한 free, offline 포함)만
+     * UPDATE 하나로 쓴다. merge 조회와 전체 컬럼 UPDATE가 없다.
+     * 바뀐 값이 없으면 쓰지 않고 version(ETag)도 그대로 둔다. If-Match와 412는 updateEvent와 같다.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity patchEvent(@PathVariable Integer id, @RequestBody @Valid EventPatchDto eventPatchDto, Errors errors,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                     NativeWebRequest webRequest){
+        Optional<Event> optionalEvent = this.eventRepository.findById(id);
+        if (optionalEvent.isEmpty()){
+            return ResponseEntity.notFound().build();
+        }
+        Event existingEvent = optionalEvent.get();
+        if (ifMatch != null && !EventETag.matches(ifMatch, existingEvent)) {
+            return preconditionFailed(existingEvent, webRequest);
+        }
+        if (errors.hasErrors()){
+            return badRequest(errors);
+        }
+
+        EventDto eventDto = eventPatchDto.mergeInto(existingEvent);
+        this.eventValidator.validate(eventDto, errors);
+        if (errors.hasErrors()){
+            return badRequest(errors);
+        }
+        Event patchedEvent = this.eventMapper.toEvent(eventDto);
+        patchedEvent.update();
+        EventChanges changes = EventChanges.between(existingEvent, patchedEvent);
+        if (!changes.isEmpty()) {
+            if (!this.eventRepository.updateChanges(existingEvent, changes.getValues())) {
+                this.eventResponseCache.invalidate(id);
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+            changes.applyTo(existingEvent);
+            this.eventResponseCache.invalidate(id, existingEvent.getVersion());
+            this.eventSearchIndex.index(existingEvent);
+            this.eventWindowIndex.index(existingEvent);
+        }
+
+        EventResource eventResource = new EventResource(existingEvent);
+        eventResource.add(Link.of("/docs/index.html#resources-events-patch").withRel("profile"));
+
+        return ResponseEntity.ok().eTag(EventETag.of(existingEvent, negotiate(webRequest))).body(eventResource);
+    }
+
+    private ResponseEntity preconditionFailed(Event event, NativeWebRequest webRequest) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(EventETag.of(event, negotiate(webRequest))).build();
+    }
+
+    /**
+     * 응답 형식(HAL JSON, CBOR, Smile)마다 ETag가 다르므로 본문을 쓰기 전에 Accept로 형식을 고른다.
+     */
+    private MediaType negotiate(NativeWebRequest webRequest) {
+        return this.halRenderer.negotiate(webRequest, MediaTypes.HAL_JSON, BinaryMediaTypes.CBOR, BinaryMediaTypes.SMILE);
     }
 }
@@ -0,0 +1,103 @@
+package com.study.springrestapi.events;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 키셋(커서) 페이지네이션의 위치 정보 (정렬 키 값, id)
+ * 클라이언트에게는 base64url로 인코딩한 불투명한(opaque) 토큰(after)으로만 전달한다.
+ * 정렬 키가 같은 이벤트가 여러 개일 수 있으므로 id를 함께 비교해서 순서를 확정한다.
+ */
+@Getter
+public class EventCursor {
+
+    /**
+     * 커서로 정렬할 수 있는 프로퍼티와 토큰 값을 다시 읽는 방법
+     */
+    private static final Map<String, Function<String, Comparable<?>>> SORT_KEYS = Map.of(
+            "id", Integer::valueOf,
+            "name", value -> value,
+            "beginEnrollmentDateTime", LocalDateTime::parse,
+            "closeEnrollmentDateTime", LocalDateTime::parse,
+            "beginEventDateTime", LocalDateTime::parse,
+            "endEventDateTime", LocalDateTime::parse,
+            "basePrice", Integer::valueOf,
+            "maxPrice", Integer::valueOf,
+            "limitOfEnrollment", Integer::valueOf
+    );
+
+    private static final String SEPARATOR = "|";
+
+    private final Sort.Order order;
+
+    private final Comparable<?> value;
+
+    private final Integer id;
+
+    private EventCursor(Sort.Order order, Comparable<?> value, Integer id) {
+        this.order = order;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static boolean isSortable(String property) {
+        return SORT_KEYS.containsKey(property);
+    }
+
+    /**
+     * 페이지의 마지막 이벤트 다음부터 조회하는 커서
+     */
+    public static EventCursor after(Event last, Sort.Order order) {
+        return new EventCursor(order, sortKeyOf(last, order.getProperty()), last.getId());
+    }
+
+    /**
+     * 프로젝션 조회(findAllProjectedAfter)는 정렬 키를 같이 읽어둔다.
+     */
+    public static EventCursor after(EventProjection last, Sort.Order order) {
+        return new EventCursor(order, last.getSortKey(), last.getId());
+    }
+
+    public static EventCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR, 4);
+            Sort.Direction direction = Sort.Direction.fromString(parts[0]);
+            String property = parts[1];
+            if (!isSortable(property)) {
+                throw new IllegalArgumentException("Unsupported sort property: " + property);
+            }
+            Integer id = Integer.valueOf(parts[2]);
+            Comparable<?> value = SORT_KEYS.get(property).apply(parts[3]);
+            return new EventCursor(new Sort.Order(direction, property), value, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = order.getDirection().name() + SEPARATOR + order.getProperty() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Comparable<?> sortKeyOf(Event event, String property) {
+        switch (property) {
+            case "id": return event.getId();
+            case "name": return event.getName();
+            case "beginEnrollmentDateTime": return event.getBeginEnrollmentDateTime();
+            case "closeEnrollmentDateTime": return event.getCloseEnrollmentDateTime();
+            case "beginEventDateTime": return event.getBeginEventDateTime();
+            case "endEventDateTime": return event.getEndEventDateTime();
+            case "basePrice": return event.getBasePrice();
+            case "maxPrice": return event.getMaxPrice();
+            case "limitOfEnrollment": return event.getLimitOfEnrollment();
+            default: throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+    }
+}
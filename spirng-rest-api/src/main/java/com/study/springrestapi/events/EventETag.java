@@ -0,0 +1,81 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.BinaryMediaTypes;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event의 version으로 강한(strong) ETag를 만든다.
+ * 목록은 페이지에 담긴 (id, version)과 페이지 정보를 모아서 해시한다. 본문을 직렬화하지 않고도 계산할 수 있다.
+ * 같은 version이어도 HAL JSON, CBOR, Smile 본문은 바이트가 다르므로 표현마다 다른 ETag를 쓴다.
+ * HAL JSON은 "version", 바이너리 형식은 "version-cbor", "version-smile" 처럼 뒤에 형식을 붙인다.
+ */
+final class EventETag {
+
+    private static final Map<MediaType, String> SUFFIXES = Map.of(
+            BinaryMediaTypes.CBOR, "-cbor",
+            BinaryMediaTypes.SMILE, "-smile");
+
+    private EventETag() {
+    }
+
+    static String of(Event event, MediaType mediaType) {
+        return of(event.getVersion(), mediaType);
+    }
+
+    static String of(Integer version, MediaType mediaType) {
+        return "\"" + version + suffix(mediaType) + "\"";
+    }
+
+    static String of(List<Event> events, MediaType mediaType, Object... pageInfo) {
+        StringBuilder builder = new StringBuilder();
+        for (Event event : events) {
+            builder.append(event.getId()).append(':').append(event.getVersion()).append(',');
+        }
+        return hash(builder, mediaType, pageInfo);
+    }
+
+    static String ofProjections(List<EventProjection> events, MediaType mediaType, Object... pageInfo) {
+        StringBuilder builder = new StringBuilder();
+        for (EventProjection event : events) {
+            builder.append(event.getId()).append(':').append(event.getVersion()).append(',');
+        }
+        return hash(builder, mediaType, pageInfo);
+    }
+
+    private static String hash(StringBuilder builder, MediaType mediaType, Object... pageInfo) {
+        for (Object info : pageInfo) {
+            builder.append('|').append(info);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + suffix(mediaType) + "\"";
+    }
+
+    private static String suffix(MediaType mediaType) {
+        return SUFFIXES.getOrDefault(mediaType, "");
+    }
+
+    /**
+     * If-Match는 강한 비교를 하므로 W/ 로 시작하는 약한 ETag는 일치하지 않는 것으로 본다.
+     * 어느 형식으로 받은 ETag든 version이 지금 이벤트와 같으면 일치한다.
+     */
+    static boolean matches(String ifMatch, Event event) {
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifMatch)) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(of(event, MediaTypes.HAL_JSON))) {
+                return true;
+            }
+            for (MediaType mediaType : SUFFIXES.keySet()) {
+                if (candidate.equals(of(event, mediaType))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.study.springrestapi.events;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GET /api/events/export 응답 형식. Accept 헤더로 고르고, 지정하지 않으면 NDJSON이다.
+ */
+public enum EventExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    EventExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * q 값이 높은 것부터 처음으로 맞는 형식을 고른다. 모든 형식을 허용하면 NDJSON이다.
+     */
+    public static EventExportFormat of(List<MediaType> accept) {
+        List<MediaType> mediaTypes = new ArrayList<>(accept);
+        MediaType.sortBySpecificityAndQuality(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            for (EventExportFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return NDJSON;
+    }
+}
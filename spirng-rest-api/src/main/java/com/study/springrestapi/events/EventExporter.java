@@ -0,0 +1,191 @@
+package com.study.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.study.springrestapi.common.AppProperties;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 모든 Event를 id 순서로 읽으면서 바로 OutputStream에 쓴다.
+ * 엔티티가 아니라 컬럼 값(Object[])만 조회하므로 영속성 컨텍스트에 쌓이는 것이 없고 manager도 읽지 않는다.
+ * JDBC fetch size(my-app.event-export-fetch-size) 만큼씩 DB에서 가져오므로 전체 행 수와 상관없이 메모리 사용량이 일정하다.
+ * PostgreSQL은 트랜잭션 안(autocommit off)에서만 fetch size를 커서로 처리하므로 읽기 전용 트랜잭션으로 실행한다.
+ */
+@Component
+public class EventExporter {
+
+    static final String[] COLUMNS = {
+            "id", "name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime",
+            "location", "basePrice", "maxPrice", "limitOfEnrollment", "offline", "free", "eventStatus"
+    };
+
+    private static final String QUERY = "select e." + String.join(", e.", COLUMNS) + " from Event e order by e.id";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().setRootValueSeparator(null);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public EventExporter(AppProperties appProperties) {
+        this.fetchSize = appProperties.getEventExportFetchSize();
+    }
+
+    /**
+     * @return 내보낸 Event 수
+     */
+    @Transactional(readOnly = true)
+    public long export(EventExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+        RowWriter rowWriter = format == EventExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long count = 0;
+        try (Stream<Object[]> rows = entityManager.createQuery(QUERY, Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            rowWriter.writeHeader();
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.write(iterator.next());
+                // 한 번 가져온 만큼 쓰고 나면 클라이언트로 내보낸다.
+                if (++count % fetchSize == 0) {
+                    rowWriter.flush();
+                }
+            }
+        }
+        rowWriter.flush();
+        return count;
+    }
+
+    private static String format(Object value) {
+        if (value instanceof LocalDateTime) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format((LocalDateTime) value);
+        }
+        return value.toString();
+    }
+
+    private interface RowWriter {
+
+        void writeHeader() throws IOException;
+
+        void write(Object[] row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * 한 줄에 JSON 객체 하나 (HAL 링크 없이 필드만). null 필드는 쓰지 않는다.
+     */
+    private static class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = JSON_FACTORY.createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Object value = row[i];
+                if (value == null) {
+                    continue;
+                }
+                generator.writeFieldName(COLUMNS[i]);
+                if (value instanceof Integer) {
+                    generator.writeNumber((Integer) value);
+                } else if (value instanceof Boolean) {
+                    generator.writeBoolean((Boolean) value);
+                } else {
+                    generator.writeString(format(value));
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+            writer.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 형식. 첫 줄은 컬럼 이름이고 null은 빈 값이다.
+     */
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (row[i] != null) {
+                    writeField(format(row[i]));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.study.springrestapi.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 목록 응답의 sparse fieldset (?fields=name,basePrice,manager)
+ * 고른 프로퍼티의 컬럼만 SELECT 하고 Event 엔티티는 만들지 않는다. (EventRepositoryCustom.findAllProjected)
+ * id는 self 링크를 만들어야 하므로 항상 담는다.
+ * manager를 고르면 같은 쿼리에서 member를 LEFT JOIN 해서 id, email만 담는다.
+ */
+public final class EventFields {
+
+    static final String MANAGER = "manager";
+
+    private static final Set<String> SELECTABLE = Set.of(
+            "name", "description",
+            "beginEnrollmentDateTime", "closeEnrollmentDateTime", "beginEventDateTime", "endEventDateTime",
+            "location", "basePrice", "maxPrice", "limitOfEnrollment",
+            "offline", "free", "eventStatus", "version", MANAGER
+    );
+
+    private final List<String> names;
+
+    private EventFields(List<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * 쉼표로 나눈 프로퍼티 이름을 읽는다. 모르는 이름이 있으면 IllegalArgumentException
+     */
+    public static EventFields parse(String fields) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            name = name.trim();
+            if (name.isEmpty() || name.equals("id")) {
+                continue;
+            }
+            if (!SELECTABLE.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            names.add(name);
+        }
+        return new EventFields(Collections.unmodifiableList(new ArrayList<>(names)));
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+}
@@ -0,0 +1,296 @@
+package com.study.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.study.springrestapi.member.Member;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.PagedModel;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * EventResource와 EventPagedModel을 HAL 형식으로 JsonGenerator에 바로 쓴다.
+ * Spring HATEOAS의 HAL mixin과 Event, Member getter의 리플렉션을 거치지 않고, 필드 이름은 미리 인코딩해 둔다.
+ * 출력은 기본 HAL 직렬화와 같다. (필드 순서, null 필드, _links, page)
+ * 단 manager는 ?fields=manager 응답과 같이 id, email만 쓰고 비밀번호 해시와 역할은 내보내지 않는다.
+ * LocalDateTime은 ISO_LOCAL_DATE_TIME 형식을 문자열을 만들지 않고 스레드마다 하나인 char 버퍼에 바로 쓴다.
+ */
+@JsonComponent
+public class EventHalSerializer {
+
+    static final String COLLECTION_RELATION = "eventList";
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString BEGIN_ENROLLMENT_DATE_TIME = new SerializedString("beginEnrollmentDateTime");
+    private static final SerializedString CLOSE_ENROLLMENT_DATE_TIME = new SerializedString("closeEnrollmentDateTime");
+    private static final SerializedString BEGIN_EVENT_DATE_TIME = new SerializedString("beginEventDateTime");
+    private static final SerializedString END_EVENT_DATE_TIME = new SerializedString("endEventDateTime");
+    private static final SerializedString LOCATION = new SerializedString("location");
+    private static final SerializedString BASE_PRICE = new SerializedString("basePrice");
+    private static final SerializedString MAX_PRICE = new SerializedString("maxPrice");
+    private static final SerializedString LIMIT_OF_ENROLLMENT = new SerializedString("limitOfEnrollment");
+    private static final SerializedString OFFLINE = new SerializedString("offline");
+    private static final SerializedString FREE = new SerializedString("free");
+    private static final SerializedString EVENT_STATUS = new SerializedString("eventStatus");
+    private static final SerializedString MANAGER = new SerializedString("manager");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString EMBEDDED = new SerializedString("_embedded");
+    private static final SerializedString EVENT_LIST = new SerializedString(COLLECTION_RELATION);
+    private static final SerializedString LINKS = new SerializedString("_links");
+    private static final SerializedString HREF = new SerializedString("href");
+    private static final SerializedString TEMPLATED = new SerializedString("templated");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString NUMBER = new SerializedString("number");
+
+    private static final ThreadLocal<char[]> DATE_TIME_BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
+    public static class Resource extends JsonSerializer<EventResource> {
+        @Override
+        public void serialize(EventResource resource, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeResource(resource, gen);
+        }
+    }
+
+    public static class Page extends JsonSerializer<EventPagedModel> {
+        @Override
+        public void serialize(EventPagedModel page, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            Collection<EventResource> content = page.getContent();
+            if (!content.isEmpty()) {
+                gen.writeFieldName(EMBEDDED);
+                gen.writeStartObject();
+                gen.writeFieldName(EVENT_LIST);
+                gen.writeStartArray();
+                for (EventResource resource : content) {
+                    writeResource(resource, gen);
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+            writeLinks(page.getLinks(), gen);
+            PagedModel.PageMetadata metadata = page.getMetadata();
+            if (metadata != null) {
+                gen.writeFieldName(PAGE);
+                gen.writeStartObject();
+                gen.writeFieldName(SIZE);
+                gen.writeNumber(metadata.getSize());
+                gen.writeFieldName(TOTAL_ELEMENTS);
+                gen.writeNumber(metadata.getTotalElements());
+                gen.writeFieldName(TOTAL_PAGES);
+                gen.writeNumber(metadata.getTotalPages());
+                gen.writeFieldName(NUMBER);
+                gen.writeNumber(metadata.getNumber());
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeResource(EventResource resource, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        Event event = resource.getContent();
+        if (event != null) {
+            writeEvent(event, gen);
+        }
+        writeLinks(resource.getLinks(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeEvent(Event event, JsonGenerator gen) throws IOException {
+        gen.writeFieldName(ID);
+        writeInteger(event.getId(), gen);
+        gen.writeFieldName(NAME);
+        gen.writeString(event.getName());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(event.getDescription());
+        gen.writeFieldName(BEGIN_ENROLLMENT_DATE_TIME);
+        writeDateTime(event.getBeginEnrollmentDateTime(), gen);
+        gen.writeFieldName(CLOSE_ENROLLMENT_DATE_TIME);
+        writeDateTime(event.getCloseEnrollmentDateTime(), gen);
+        gen.writeFieldName(BEGIN_EVENT_DATE_TIME);
+        writeDateTime(event.getBeginEventDateTime(), gen);
+        gen.writeFieldName(END_EVENT_DATE_TIME);
+        writeDateTime(event.getEndEventDateTime(), gen);
+        gen.writeFieldName(LOCATION);
+        gen.writeString(event.getLocation());
+        gen.writeFieldName(BASE_PRICE);
+        gen.writeNumber(event.getBasePrice());
+        gen.writeFieldName(MAX_PRICE);
+        gen.writeNumber(event.getMaxPrice());
+        gen.writeFieldName(LIMIT_OF_ENROLLMENT);
+        gen.writeNumber(event.getLimitOfEnrollment());
+        gen.writeFieldName(OFFLINE);
+        gen.writeBoolean(event.isOffline());
+        gen.writeFieldName(FREE);
+        gen.writeBoolean(event.isFree());
+        gen.writeFieldName(EVENT_STATUS);
+        if (event.getEventStatus() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(event.getEventStatus().name());
+        }
+        gen.writeFieldName(MANAGER);
+        writeManager(event.getManager(), gen);
+        gen.writeFieldName(VERSION);
+        writeInteger(event.getVersion(), gen);
+    }
+
+    private static void writeManager(Member manager, JsonGenerator gen) throws IOException {
+        if (manager == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        writeInteger(manager.getId(), gen);
+        gen.writeFieldName(EMAIL);
+        gen.writeString(manager.getEmail());
+        gen.writeEndObject();
+    }
+
+    /**
+     * HAL처럼 rel마다 하나면 객체, 여러 개면 배열로 쓴다. 링크 수가 적으므로 rel을 모으는 Map 없이 앞뒤를 훑는다.
+     */
+    private static void writeLinks(Links links, JsonGenerator gen) throws IOException {
+        if (links.isEmpty()) {
+            return;
+        }
+        gen.writeFieldName(LINKS);
+        gen.writeStartObject();
+        int index = 0;
+        for (Link link : links) {
+            if (!firstOfRelation(links, link, index++)) {
+                continue;
+            }
+            gen.writeFieldName(link.getRel().value());
+            int count = countOfRelation(links, link);
+            if (count == 1) {
+                writeLink(link, gen);
+                continue;
+            }
+            gen.writeStartArray();
+            for (Link same : links) {
+                if (same.getRel().isSameAs(link.getRel())) {
+                    writeLink(same, gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private static boolean firstOfRelation(Links links, Link link, int index) {
+        int i = 0;
+        for (Link other : links) {
+            if (i++ == index) {
+                return true;
+            }
+            if (other.getRel().isSameAs(link.getRel())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int countOfRelation(Links links, Link link) {
+        int count = 0;
+        for (Link other : links) {
+            if (other.getRel().isSameAs(link.getRel())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeLink(Link link, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(HREF);
+        gen.writeString(link.getHref());
+        writeOptional("hreflang", link.getHreflang(), gen);
+        writeOptional("title", link.getTitle(), gen);
+        writeOptional("type", link.getType(), gen);
+        writeOptional("deprecation", link.getDeprecation(), gen);
+        writeOptional("profile", link.getProfile(), gen);
+        writeOptional("name", link.getName(), gen);
+        if (link.isTemplated()) {
+            gen.writeFieldName(TEMPLATED);
+            gen.writeBoolean(true);
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeOptional(String name, String value, JsonGenerator gen) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        }
+    }
+
+    private static void writeInteger(Integer value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    /**
+     * DateTimeFormatter.ISO_LOCAL_DATE_TIME과 같은 형식 (초는 항상, 소수점 아래는 0이 아니면 끝의 0을 빼고)
+     * 4자리를 넘거나 음수인 연도는 드물기 때문에 DateTimeFormatter에 맡긴다.
+     */
+    static void writeDateTime(LocalDateTime value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        char[] buffer = DATE_TIME_BUFFER.get();
+        digits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        digits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        digits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        digits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        digits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        digits(buffer, 17, value.getSecond(), 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[19] = '.';
+            digits(buffer, 20, nano, width);
+            length = 20 + width;
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static void digits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
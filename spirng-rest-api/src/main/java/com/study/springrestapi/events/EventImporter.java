@@ -0,0 +1,200 @@
+package com.study.springrestapi.events;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.study.springrestapi.common.AppProperties;
+import com.study.springrestapi.common.ErrorsSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON(한 줄에 EventDto 하나) 요청 본문을 한 줄씩 읽어서 Event로 저장한다.
+ * my-app.event-import-chunk-size 줄씩 모아서
+ * 1. 병렬로 @Valid와 같은 Bean Validation, EventValidator 검증을 하고
+ * 2. 검증을 통과한 것만 한 트랜잭션(EventRepository.saveAllInBatches)으로 저장한 다음
+ * 3. 줄마다 결과를 응답에 한 줄씩 쓰고 내보낸다.
+ * 메모리에는 한 chunk만 올라가고, 잘못된 줄이나 저장에 실패한 chunk가 있어도 이미 저장된 chunk는 그대로 남는다.
+ */
+@Slf4j
+@Component
+public class EventImporter {
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader eventDtoReader;
+
+    private final SpringValidatorAdapter validator;
+
+    private final EventValidator eventValidator;
+
+    private final EventMapper eventMapper;
+
+    private final EventRepository eventRepository;
+
+    private final ErrorsSerializer errorsSerializer;
+
+    private final AppProperties appProperties;
+
+    private final EventSearchIndex eventSearchIndex;
+
+    private final EventWindowIndex eventWindowIndex;
+
+    public EventImporter(ObjectMapper objectMapper, Validator validator, EventValidator eventValidator,
+                         EventMapper eventMapper, EventRepository eventRepository,
+                         ErrorsSerializer errorsSerializer, AppProperties appProperties, EventSearchIndex eventSearchIndex,
+                         EventWindowIndex eventWindowIndex) {
+        this.objectMapper = objectMapper;
+        this.eventDtoReader = objectMapper.readerFor(EventDto.class);
+        this.validator = new SpringValidatorAdapter(validator);
+        this.eventValidator = eventValidator;
+        this.eventMapper = eventMapper;
+        this.eventRepository = eventRepository;
+        this.errorsSerializer = errorsSerializer;
+        this.appProperties = appProperties;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventWindowIndex = eventWindowIndex;
+    }
+
+    public void importEvents(InputStream inputStream, OutputStream outputStream) throws IOException {
+        int chunkSize = appProperties.getEventImportChunkSize();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        List<ImportLine> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(new ImportLine(lineNumber, line));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, generator);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, generator);
+        }
+        generator.flush();
+    }
+
+    private void importChunk(List<ImportLine> chunk, JsonGenerator generator) throws IOException {
+        chunk.parallelStream().forEach(this::parseAndValidate);
+
+        List<ImportLine> validLines = chunk.stream()
+                .filter(importLine -> !importLine.errors.hasErrors())
+                .collect(Collectors.toList());
+        if (!validLines.isEmpty()) {
+            List<Event> events = validLines.stream()
+                    .map(importLine -> importLine.event)
+                    .collect(Collectors.toList());
+            try {
+                this.eventRepository.saveAllInBatches(events);
+                events.forEach(this.eventSearchIndex::index);
+                events.forEach(this.eventWindowIndex::index);
+            } catch (DataAccessException e) {
+                log.warn("Failed to import events of lines {}-{}", chunk.get(0).number, chunk.get(chunk.size() - 1).number, e);
+                validLines.forEach(importLine -> {
+                    importLine.status = "failed";
+                    importLine.errors.reject("saveFailed", "Event could not be saved");
+                });
+            }
+        }
+
+        for (ImportLine importLine : chunk) {
+            writeResult(importLine, generator);
+        }
+        generator.flush();
+    }
+
+    private void parseAndValidate(ImportLine importLine) {
+        EventDto eventDto;
+        try {
+            eventDto = this.eventDtoReader.readValue(importLine.line);
+        } catch (JsonProcessingException e) {
+            rejectJson(importLine, e.getOriginalMessage());
+            return;
+        }
+        // JSON 리터럴 null은 읽기는 되지만 이벤트가 아니다.
+        if (eventDto == null) {
+            rejectJson(importLine, "Line is not an event object");
+            return;
+        }
+        importLine.errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.validator.validate(eventDto, importLine.errors);
+        if (!importLine.errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, importLine.errors);
+        }
+        if (importLine.errors.hasErrors()) {
+            importLine.status = "invalid";
+            return;
+        }
+        Event event = this.eventMapper.toEvent(eventDto);
+        event.update();
+        importLine.event = event;
+    }
+
+    private static void rejectJson(ImportLine importLine, String message) {
+        importLine.errors = new MapBindingResult(new HashMap<>(), "eventDto");
+        importLine.errors.reject("wrongJson", message);
+        importLine.status = "invalid";
+    }
+
+    /**
+     * {"line":1,"status":"created","id":10}
+     * {"line":2,"status":"invalid","errors":[...]}  (errors는 ErrorsSerializer 형식, 저장에 실패하면 status가 failed)
+     */
+    private void writeResult(ImportLine importLine, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", importLine.number);
+        generator.writeStringField("status", importLine.status);
+        if (importLine.errors.hasErrors()) {
+            this.errorsSerializer.serialize(importLine.errors, generator, null);
+        } else {
+            generator.writeNumberField("id", importLine.event.getId());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static class ImportLine {
+
+        private final int number;
+
+        private final String line;
+
+        private String status = "created";
+
+        private Errors errors;
+
+        private Event event;
+
+        ImportLine(int number, String line) {
+            this.number = number;
+            this.line = line;
+        }
+    }
+}
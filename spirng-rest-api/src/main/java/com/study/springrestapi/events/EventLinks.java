@@ -0,0 +1,67 @@
+package com.study.springrestapi.events;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * EventController 링크 팩토리
+ * linkTo(EventController.class)는 호출마다 컨트롤러 매핑을 리플렉션으로 찾고 현재 요청으로 URI 빌더를 만든다.
+ * 여기서는 매핑 템플릿(/api/events, /api/events/{id})을 클래스를 읽을 때 한 번 풀어두고,
+ * 요청의 base URI(scheme://host:port/contextPath)는 요청 attribute에 한 번만 만들어 둔 뒤 id마다 문자열만 이어붙인다.
+ * 요청 밖에서 부르면 linkTo와 같이 상대 경로를 만든다.
+ */
+public final class EventLinks {
+
+    private static final String BASE_URI_ATTRIBUTE = EventLinks.class.getName() + ".baseUri";
+
+    private static final String COLLECTION_PATH = collectionPath();
+
+    private static final String ITEM_PATH_PREFIX = COLLECTION_PATH + "/";
+
+    private EventLinks() {
+    }
+
+    public static Link self(Integer id) {
+        return item(id, IanaLinkRelations.SELF);
+    }
+
+    /**
+     * /api/events/{id}
+     */
+    public static Link item(Integer id, LinkRelation relation) {
+        return Link.of(baseUri() + ITEM_PATH_PREFIX + id, relation);
+    }
+
+    /**
+     * /api/events
+     */
+    public static Link collection(String relation) {
+        return Link.of(baseUri() + COLLECTION_PATH, relation);
+    }
+
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return "";
+        }
+        String baseUri = (String) attributes.getAttribute(BASE_URI_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromContextPath(((ServletRequestAttributes) attributes).getRequest()).toUriString();
+            attributes.setAttribute(BASE_URI_ATTRIBUTE, baseUri, RequestAttributes.SCOPE_REQUEST);
+        }
+        return baseUri;
+    }
+
+    private static String collectionPath() {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(EventController.class, RequestMapping.class);
+        String path = mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
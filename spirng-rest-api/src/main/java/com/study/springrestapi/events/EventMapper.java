@@ -0,0 +1,17 @@
+package com.study.springrestapi.events;
+
+/**
+ * EventDto -> Event 매핑
+ * GENERATED : 컴파일 시점에 MapStruct가 만든 매핑 코드 (리플렉션 없음, 기본값)
+ * MODEL_MAPPER : 기존 ModelMapper를 이용한 매핑 (my-app.event-mapper=model-mapper)
+ */
+public interface EventMapper {
+
+    Event toEvent(EventDto eventDto);
+
+    void updateEvent(EventDto eventDto, Event event);
+
+    enum Type {
+        GENERATED, MODEL_MAPPER
+    }
+}
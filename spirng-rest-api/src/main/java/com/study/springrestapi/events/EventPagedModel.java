@@ -0,0 +1,14 @@
+package com.study.springrestapi.events;
+
+import org.springframework.hateoas.PagedModel;
+
+/**
+ * Event 목록 페이지
+ * PagedResourcesAssembler가 만든 PagedModel을 그대로 감싸고, 직렬화만 EventHalSerializer.Page가 맡는다.
+ */
+public class EventPagedModel extends PagedModel<EventResource> {
+
+    public EventPagedModel(PagedModel<EventResource> page) {
+        super(page.getContent(), page.getMetadata(), page.getLinks());
+    }
+}
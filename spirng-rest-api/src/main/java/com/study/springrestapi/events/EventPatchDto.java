@@ -0,0 +1,49 @@
+package com.study.springrestapi.events;
+
+import lombok.*;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * PATCH /api/events/{id} 요청 본문
+ * 값이 없거나 null인 프로퍼티는 바꾸지 않는다. location은 빈 문자열을 보내면 지워서 온라인 모임이 된다.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class EventPatchDto {
+
+    @Size(min = 1)
+    private String name;
+    @Size(min = 1)
+    private String description;
+    private LocalDateTime beginEnrollmentDateTime;
+    private LocalDateTime closeEnrollmentDateTime;
+    private LocalDateTime beginEventDateTime;
+    private LocalDateTime endEventDateTime;
+    private String location;
+    @Min(0)
+    private Integer basePrice;
+    @Min(0)
+    private Integer maxPrice;
+    @Min(0)
+    private Integer limitOfEnrollment;
+
+    /**
+     * 현재 이벤트에 보낸 값만 덮어쓴 EventDto. EventValidator로 합친 결과를 검증할 때 쓴다.
+     */
+    public EventDto mergeInto(Event event) {
+        return EventDto.builder()
+                .name(this.name != null ? this.name : event.getName())
+                .description(this.description != null ? this.description : event.getDescription())
+                .beginEnrollmentDateTime(this.beginEnrollmentDateTime != null ? this.beginEnrollmentDateTime : event.getBeginEnrollmentDateTime())
+                .closeEnrollmentDateTime(this.closeEnrollmentDateTime != null ? this.closeEnrollmentDateTime : event.getCloseEnrollmentDateTime())
+                .beginEventDateTime(this.beginEventDateTime != null ? this.beginEventDateTime : event.getBeginEventDateTime())
+                .endEventDateTime(this.endEventDateTime != null ? this.endEventDateTime : event.getEndEventDateTime())
+                .location(this.location == null ? event.getLocation() : this.location.isBlank() ? null : this.location)
+                .basePrice(this.basePrice != null ? this.basePrice : event.getBasePrice())
+                .maxPrice(this.maxPrice != null ? this.maxPrice : event.getMaxPrice())
+                .limitOfEnrollment(this.limitOfEnrollment != null ? this.limitOfEnrollment : event.getLimitOfEnrollment())
+                .build();
+    }
+}
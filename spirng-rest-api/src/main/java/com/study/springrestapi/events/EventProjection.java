@@ -0,0 +1,51 @@
+package com.study.springrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.Map;
+
+/**
+ * sparse fieldset(EventFields)으로 조회한 Event 한 줄
+ * 응답에는 content(id와 고른 프로퍼티)만 나가고, version과 sortKey는 ETag와 커서를 만드는 데만 쓴다.
+ * 목록 응답에서 Event와 같은 이름(eventList)으로 담기도록 @Relation을 붙인다.
+ */
+@Relation(collectionRelation = "eventList")
+public class EventProjection {
+
+    private final Integer id;
+
+    private final Integer version;
+
+    private final Comparable<?> sortKey;
+
+    private final Map<String, Object> content;
+
+    EventProjection(Integer id, Integer version, Comparable<?> sortKey, Map<String, Object> content) {
+        this.id = id;
+        this.version = version;
+        this.sortKey = sortKey;
+        this.content = content;
+    }
+
+    @JsonIgnore
+    public Integer getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public Integer getVersion() {
+        return version;
+    }
+
+    @JsonIgnore
+    public Comparable<?> getSortKey() {
+        return sortKey;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getContent() {
+        return content;
+    }
+}
@@ -1,6 +1,16 @@
 package com.study.springrestapi.events;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
-public interface EventRepository extends JpaRepository<Event, Integer> {
+import java.util.Optional;
+
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
+
+    /**
+     * DB에 더해진 조회수만 조회한다. (EventViewCounter)
+     */
+    @Query("select e.viewCount from Event e where e.id = :id")
+    Optional<Long> findViewCountById(Integer id);
 }
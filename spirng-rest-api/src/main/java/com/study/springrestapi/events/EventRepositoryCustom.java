@@ -0,0 +1,59 @@
+package com.study.springrestapi.events;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * 키셋 페이지네이션 조회
+     * OFFSET 없이 (정렬 키, id) 조건으로 다음 위치부터 limit 개를 가져오고 count 쿼리는 실행하지 않는다.
+     * @param spec : 필터 조건 (EventSpecifications), 없으면 null
+     * @param order : 정렬 기준 (id가 보조 정렬 키로 항상 붙는다)
+     * @param cursor : 이전 페이지의 마지막 위치, 첫 페이지면 null
+     */
+    List<Event> findAllAfter(Specification<Event> spec, Sort.Order order, EventCursor cursor, int limit);
+
+    /**
+     * sparse fieldset 조회
+     * 엔티티 대신 fields에 고른 컬럼만 SELECT 해서 EventProjection으로 반환한다. 영속성 컨텍스트에는 아무것도 남지 않는다.
+     */
+    Page<EventProjection> findAllProjected(Specification<Event> spec, EventFields fields, Pageable pageable);
+
+    /**
+     * findAllAfter의 sparse fieldset 조회. 커서를 만들 수 있도록 정렬 키도 같이 읽는다.
+     */
+    List<EventProjection> findAllProjectedAfter(Specification<Event> spec, EventFields fields,
+                                                Sort.Order order, EventCursor cursor, int limit);
+
+    /**
+     * 여러 이벤트를 한 트랜잭션에서 저장한다.
+     * hibernate.jdbc.batch_size 개씩 INSERT를 JDBC 배치로 보내고, 그때마다 영속성 컨텍스트를 비워서 메모리가 늘지 않게 한다.
+     * 반환하는 Event는 준영속 상태다.
+     * id는 Event의 시퀀스(allocationSize)에서 미리 받아둔 범위로 채워진다.
+     */
+    List<Event> saveAllInBatches(List<Event> events);
+
+    /**
+     * 바뀐 컬럼만 UPDATE 하나로 쓰고 version을 1 올린다. (PATCH)
+     * DB의 version이 event의 version과 같을 때만 쓰고, UPDATE 뒤에는 event를 영속성 컨텍스트에서 뗀다.
+     * @param changes : 프로퍼티 이름 -> 새 값 (EventChanges)
+     * @return 다른 요청이 먼저 수정해서 version이 달라졌거나 지워졌으면 false
+     */
+    boolean updateChanges(Event event, Map<String, Object> changes);
+
+    /**
+     * 이벤트마다 조회수를 더한다. (EventViewCounter)
+     * UPDATE event SET view_count = view_count + ? 를 hibernate.jdbc.batch_size 개씩 JDBC 배치로 한 트랜잭션에서 보낸다.
+     * version은 올리지 않으므로 ETag와 If-Match에는 영향이 없다.
+     * @param viewCounts : 이벤트 id -> 더할 조회수
+     * @return 지워져서 UPDATE 되지 않은 이벤트 id
+     */
+    Set<Integer> addViewCounts(Map<Integer, Long> viewCounts);
+}
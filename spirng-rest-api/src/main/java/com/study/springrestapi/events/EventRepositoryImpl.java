@@ -0,0 +1,264 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.member.Member;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * EventRepositoryCustom 구현체 (Spring Data가 이름 규칙(Impl)으로 EventRepository에 붙여준다.)
+ */
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    private static final String SORT_KEY = "sortKey";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public List<Event> findAllAfter(Specification<Event> spec, Sort.Order order, EventCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        applyCursor(spec, order, cursor, root, query, cb);
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Page<EventProjection> findAllProjected(Specification<Event> spec, EventFields fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        select(query, root, fields, null);
+        Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<EventProjection> content = toProjections(typedQuery.getResultList(), fields, null);
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<EventProjection> findAllProjectedAfter(Specification<Event> spec, EventFields fields,
+                                                       Sort.Order order, EventCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> root = query.from(Event.class);
+        select(query, root, fields, order.getProperty());
+        applyCursor(spec, order, cursor, root, query, cb);
+
+        return toProjections(entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList(), fields, sortKeyAlias(fields, order.getProperty()));
+    }
+
+    /**
+     * 필터, 커서 위치 조건과 (정렬 키, id) 정렬을 붙인다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void applyCursor(Specification<Event> spec, Sort.Order order, EventCursor cursor,
+                                    Root<Event> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Path<Comparable> key = root.get(order.getProperty());
+        Path<Integer> id = root.get("id");
+        boolean ascending = order.isAscending();
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            where.add(filter);
+        }
+        if (cursor != null) {
+            Comparable value = cursor.getValue();
+            Predicate afterId = ascending ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+            if ("id".equals(order.getProperty())) {
+                where.add(afterId);
+            } else {
+                Predicate afterKey = ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+                where.add(cb.or(afterKey, cb.and(cb.equal(key, value), afterId)));
+            }
+        }
+        query.where(where.toArray(new Predicate[0]));
+        if ("id".equals(order.getProperty())) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        }
+    }
+
+    /**
+     * id, version, (커서 정렬 키), 고른 프로퍼티만 SELECT 한다. manager는 LEFT JOIN 해서 id, email만 읽는다.
+     */
+    private static void select(CriteriaQuery<Tuple> query, Root<Event> root, EventFields fields, String sortProperty) {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        selections.add(root.get("version").alias("version"));
+        if (sortProperty != null && SORT_KEY.equals(sortKeyAlias(fields, sortProperty))) {
+            selections.add(root.get(sortProperty).alias(SORT_KEY));
+        }
+        for (String name : fields.getNames()) {
+            if (EventFields.MANAGER.equals(name)) {
+                Join<Event, Member> manager = root.join(EventFields.MANAGER, JoinType.LEFT);
+                selections.add(manager.get("id").alias("manager.id"));
+                selections.add(manager.get("email").alias("manager.email"));
+            } else {
+                selections.add(root.get(name).alias(name));
+            }
+        }
+        query.multiselect(selections);
+    }
+
+    /**
+     * Hibernate는 같은 프로퍼티의 Path를 재사용하므로 이미 SELECT 하는 프로퍼티로 정렬하면 그 alias를 정렬 키로 읽는다.
+     */
+    private static String sortKeyAlias(EventFields fields, String sortProperty) {
+        if ("id".equals(sortProperty) || "version".equals(sortProperty) || fields.getNames().contains(sortProperty)) {
+            return sortProperty;
+        }
+        return SORT_KEY;
+    }
+
+    private static List<EventProjection> toProjections(List<Tuple> tuples, EventFields fields, String sortKeyAlias) {
+        List<EventProjection> projections = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Integer id = tuple.get("id", Integer.class);
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("id", id);
+            for (String name : fields.getNames()) {
+                if (EventFields.MANAGER.equals(name)) {
+                    Object managerId = tuple.get("manager.id");
+                    Map<String, Object> manager = null;
+                    if (managerId != null) {
+                        manager = new LinkedHashMap<>();
+                        manager.put("id", managerId);
+                        manager.put("email", tuple.get("manager.email"));
+                    }
+                    content.put(name, manager);
+                } else {
+                    content.put(name, tuple.get(name));
+                }
+            }
+            Comparable<?> sortKey = sortKeyAlias == null ? null : (Comparable<?>) tuple.get(sortKeyAlias);
+            projections.add(new EventProjection(id, tuple.get("version", Integer.class), sortKey, content));
+        }
+        return projections;
+    }
+
+    private long count(Specification<Event> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(cb.count(root));
+        Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    @Transactional
+    public List<Event> saveAllInBatches(List<Event> events) {
+        for (int i = 0; i < events.size(); i++) {
+            entityManager.persist(events.get(i));
+            if ((i + 1) % batchSize == 0 || i == events.size() - 1) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return events;
+    }
+
+    @Override
+    @Transactional
+    public boolean updateChanges(Event event, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Event> update = cb.createCriteriaUpdate(Event.class);
+        Root<Event> root = update.from(Event.class);
+        changes.forEach((property, value) -> update.set(root.get(property), value));
+        Path<Integer> version = root.get("version");
+        update.set(version, cb.sum(version, 1));
+        update.where(cb.equal(root.get("id"), event.getId()), cb.equal(version, event.getVersion()));
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        // 벌크 UPDATE는 영속성 컨텍스트를 거치지 않으므로 남아있는 이전 상태가 다시 쓰이지 않게 뗀다.
+        entityManager.detach(event);
+        return updated == 1;
+    }
+
+    @Override
+    @Transactional
+    public Set<Integer> addViewCounts(Map<Integer, Long> viewCounts) {
+        Set<Integer> missing = new HashSet<>();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "update event set view_count = view_count + ? where id = ?")) {
+                List<Integer> batch = new ArrayList<>(batchSize);
+                for (Map.Entry<Integer, Long> entry : viewCounts.entrySet()) {
+                    statement.setLong(1, entry.getValue());
+                    statement.setInt(2, entry.getKey());
+                    statement.addBatch();
+                    batch.add(entry.getKey());
+                    if (batch.size() == batchSize) {
+                        collectMissing(statement.executeBatch(), batch, missing);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    collectMissing(statement.executeBatch(), batch, missing);
+                }
+            }
+        });
+        return missing;
+    }
+
+    /**
+     * 드라이버가 건수를 알려주지 않으면(SUCCESS_NO_INFO) UPDATE 된 것으로 본다.
+     */
+    private static void collectMissing(int[] updateCounts, List<Integer> batch, Set<Integer> missing) {
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                missing.add(batch.get(i));
+            }
+        }
+        batch.clear();
+    }
+}
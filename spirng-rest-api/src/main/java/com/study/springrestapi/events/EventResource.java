@@ -4,13 +4,12 @@ package com.study.springrestapi.events;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 public class EventResource extends EntityModel<Event> {
 
     public EventResource(Event event, Link... links) {
         super(event, links);
-        // 아래 코드와 똑같은 의미 add(new Link("http://localhost:8080/api/events/" + event.getId()));
-        add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        // 아래 코드와 똑같은 의미 add(linkTo(EventController.class).slash(event.getId()).withSelfRel());
+        // 목록에서는 이벤트마다 불리므로 매핑을 한 번만 풀어둔 EventLinks를 쓴다.
+        add(EventLinks.self(event.getId()));
     }
 }
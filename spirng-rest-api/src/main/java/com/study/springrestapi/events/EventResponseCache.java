@@ -0,0 +1,137 @@
+package com.study.springrestapi.events;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.study.springrestapi.common.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GET /api/events/{id} 응답 본문(HAL JSON, CBOR, Smile 바이트)과 version을 이벤트 id별로 캐시한다.
+ * 본문은 미디어 타입마다 따로 들고 있고, version이 같을 때만 한 항목에 합친다.
+ * 최대 개수(my-app.event-cache-maximum-size)와 TTL(my-app.event-cache-ttl)로 만료되고,
+ * 생성/수정 시에는 EventController가 직접 무효화한다.
+ * put은 version이 내려가는 방향으로는 바꾸지 않는다. 더 새로운 version이 들어있거나, 수정하면서 남긴 version 하한보다
+ * 낮으면 캐시에 넣지 않으므로 수정과 동시에 진행 중이던 조회가 이전 본문을 다시 넣지 못한다.
+ * hit/miss/eviction 수는 cache.gets, cache.evictions 메트릭(cache=eventResponses)으로 볼 수 있다.
+ */
+@Component
+public class EventResponseCache {
+
+    public static final String CACHE_NAME = "eventResponses";
+
+    private final Cache<Integer, CachedResponse> cache;
+
+    /**
+     * 수정으로 무효화한 id별 새 version. 이보다 낮은 version은 put 하지 않는다.
+     * 수정 전에 읽은 조회가 끝날 때까지만 있으면 되므로 본문과 같은 TTL, 같은 최대 개수로 만료시킨다.
+     * 최대 개수를 넘어 하한이 먼저 지워지면 그 id는 하한이 없던 때처럼 동작한다. 그 사이 끝난 이전 조회가 낮은 version을
+     * 다시 넣을 수 있고, 그 본문은 TTL이 지나거나 다음 수정으로 무효화될 때까지 남는다.
+     */
+    private final Cache<Integer, Integer> versionFloors;
+
+    public EventResponseCache(AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getEventCacheMaximumSize())
+                .expireAfterWrite(appProperties.getEventCacheTtl())
+                .recordStats()
+                .build();
+        this.versionFloors = Caffeine.newBuilder()
+                .maximumSize(appProperties.getEventCacheMaximumSize())
+                .expireAfterWrite(appProperties.getEventCacheTtl())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * 본문의 링크는 요청의 base URI(스킴, 호스트, 컨텍스트 경로)로 만들어지므로 base URI가 다르면 사용하지 않는다.
+     */
+    public CachedResponse get(Integer id, String baseUri, MediaType mediaType) {
+        CachedResponse cached = this.cache.getIfPresent(id);
+        if (cached == null || !cached.baseUri.equals(baseUri) || cached.getBody(mediaType) == null) {
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 캐시된 항목보다 오래된 version이거나 version 하한보다 낮으면 캐시는 그대로 둔다.
+     * 어느 경우든 호출한 요청의 응답에 쓸 수 있도록 넘겨받은 본문으로 만든 CachedResponse를 돌려준다.
+     */
+    public CachedResponse put(Integer id, String baseUri, Integer version, MediaType mediaType, byte[] body) {
+        CachedResponse response = new CachedResponse(baseUri, version, Map.of(mediaType, body));
+        this.cache.asMap().compute(id, (key, existing) -> {
+            Integer floor = this.versionFloors.getIfPresent(key);
+            if (floor != null && version < floor) {
+                return existing;
+            }
+            if (existing == null || existing.version < version) {
+                return response;
+            }
+            if (existing.version > version) {
+                return existing;
+            }
+            return existing.baseUri.equals(baseUri) ? existing.with(mediaType, body) : response;
+        });
+        return response;
+    }
+
+    public void invalidate(Integer id) {
+        this.cache.invalidate(id);
+    }
+
+    /**
+     * 수정으로 version이 올라간 뒤에 호출한다. 지금 항목을 지우고, 수정 전에 읽은 조회가 낮은 version을 다시 넣지 못하게 한다.
+     */
+    public void invalidate(Integer id, Integer version) {
+        this.versionFloors.asMap().merge(id, version, Math::max);
+        this.cache.invalidate(id);
+    }
+
+    long versionFloorCount() {
+        this.versionFloors.cleanUp();
+        return this.versionFloors.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    public static class CachedResponse {
+
+        private final String baseUri;
+
+        private final Integer version;
+
+        private final Map<MediaType, byte[]> bodies;
+
+        CachedResponse(String baseUri, Integer version, Map<MediaType, byte[]> bodies) {
+            this.baseUri = baseUri;
+            this.version = version;
+            this.bodies = bodies;
+        }
+
+        CachedResponse with(MediaType mediaType, byte[] body) {
+            Map<MediaType, byte[]> bodies = new HashMap<>(this.bodies);
+            bodies.put(mediaType, body);
+            return new CachedResponse(this.baseUri, this.version, Map.copyOf(bodies));
+        }
+
+        /**
+         * 본문의 형식마다 ETag가 다르다. (EventETag)
+         */
+        public String getETag(MediaType mediaType) {
+            return EventETag.of(version, mediaType);
+        }
+
+        public byte[] getBody(MediaType mediaType) {
+            return bodies.get(mediaType);
+        }
+    }
+}
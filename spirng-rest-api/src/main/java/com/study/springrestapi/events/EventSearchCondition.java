@@ -0,0 +1,38 @@
+package com.study.springrestapi.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * GET /api/events 필터 조건 (쿼리 파라미터)
+ * 값이 없는 조건은 적용하지 않는다. 조건을 DB 쿼리로 만드는 것은 EventSpecifications 이다.
+ */
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class EventSearchCondition {
+
+    private EventStatus eventStatus;
+
+    private Boolean free;
+
+    private Boolean offline;
+
+    // basePrice가 priceFrom 이상, priceTo 이하인 이벤트
+    private Integer priceFrom;
+
+    private Integer priceTo;
+
+    // 등록 기간(beginEnrollmentDateTime ~ closeEnrollmentDateTime)이 enrollmentFrom ~ enrollmentTo 와 겹치는 이벤트
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime enrollmentFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime enrollmentTo;
+
+    // 관리자 Member의 id
+    private Integer manager;
+}
@@ -0,0 +1,202 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.AppProperties;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Event 이름과 설명의 메모리 역색인 (단어 -> 이벤트 id -> 가중치)
+ * - 애플리케이션이 뜰 때 DB에서 (id, name, description)만 읽어서 한번 만들고,
+ *   이후에는 이벤트를 생성/수정하는 곳(EventController, EventImporter)에서 index를 불러서 바뀐 이벤트만 다시 넣는다.
+ * - 단어는 문자/숫자가 아닌 글자로 나누고 소문자로 바꾼다. 검색어의 모든 단어가 들어있는 이벤트만 찾는다.
+ * - 점수는 단어마다 (이름에 나온 횟수 x 3 + 설명에 나온 횟수) x idf 를 더한 값이다.
+ * - 쓰기는 이벤트 단위로 잠그고 검색은 잠그지 않는다. 수정 중인 이벤트는 잠깐 이전/새 단어가 섞여 보일 수 있다.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final float NAME_WEIGHT = 3f;
+
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final Comparator<ScoredId> WORST_FIRST = Comparator.comparingDouble((ScoredId s) -> s.score)
+            .thenComparing(s -> s.id, Comparator.reverseOrder());
+
+    private final Map<String, Map<Integer, Float>> postings = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Map<String, Float>> documents = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public EventSearchIndex(AppProperties appProperties) {
+        this.fetchSize = appProperties.getEventExportFetchSize();
+    }
+
+    /**
+     * 엔티티가 아니라 컬럼 값만 fetch size 단위로 읽어서 색인한다. (EventExporter와 같은 방식)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        clear();
+        try (Stream<Object[]> rows = entityManager.createQuery("select e.id, e.name, e.description from Event e", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            rows.forEach(row -> index((Integer) row[0], (String) row[1], (String) row[2]));
+        }
+    }
+
+    public void index(Event event) {
+        index(event.getId(), event.getName(), event.getDescription());
+    }
+
+    public synchronized void index(Integer id, String name, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, name, NAME_WEIGHT);
+        addTerms(weights, description, DESCRIPTION_WEIGHT);
+        Map<String, Float> previous = this.documents.put(id, weights);
+        if (previous != null) {
+            previous.keySet().stream()
+                    .filter(term -> !weights.containsKey(term))
+                    .forEach(term -> removePosting(term, id));
+        }
+        weights.forEach((term, weight) -> this.postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(id, weight));
+    }
+
+    public synchronized void remove(Integer id) {
+        Map<String, Float> previous = this.documents.remove(id);
+        if (previous != null) {
+            previous.keySet().forEach(term -> removePosting(term, id));
+        }
+    }
+
+    public synchronized void clear() {
+        this.postings.clear();
+        this.documents.clear();
+    }
+
+    /**
+     * 검색어의 모든 단어가 들어있는 이벤트 id를 점수가 높은 순서(같으면 id 순서)로 반환한다.
+     * 요청한 페이지까지만 힙에 남기므로 결과 전체를 정렬하지 않는다.
+     */
+    public Page<Integer> search(String query, Pageable pageable) {
+        List<Map<Integer, Float>> lists = new ArrayList<>();
+        for (String term : tokenize(query)) {
+            Map<Integer, Float> posting = this.postings.get(term);
+            if (posting == null || posting.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            lists.add(posting);
+        }
+        if (lists.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        // 가장 짧은 목록을 돌면서 나머지 목록에 있는지 확인한다.
+        lists.sort(Comparator.comparingInt(Map::size));
+        float documentCount = this.documents.size();
+        float[] idf = new float[lists.size()];
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = (float) Math.log(1 + documentCount / lists.get(i).size());
+        }
+
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        PriorityQueue<ScoredId> top = new PriorityQueue<>(WORST_FIRST);
+        long total = 0;
+        for (Map.Entry<Integer, Float> entry : lists.get(0).entrySet()) {
+            float score = entry.getValue() * idf[0];
+            for (int i = 1; i < lists.size() && score >= 0; i++) {
+                Float weight = lists.get(i).get(entry.getKey());
+                score = weight == null ? -1 : score + weight * idf[i];
+            }
+            if (score < 0) {
+                continue;
+            }
+            total++;
+            ScoredId scored = new ScoredId(entry.getKey(), score);
+            if (top.size() < limit) {
+                top.add(scored);
+            } else if (WORST_FIRST.compare(scored, top.peek()) > 0) {
+                top.poll();
+                top.add(scored);
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().id);
+        }
+        Collections.reverse(ids);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        return new PageImpl<>(new ArrayList<>(ids.subList(from, ids.size())), pageable, total);
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text != null) {
+            for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    terms.add(token);
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                weights.merge(token, weight, Float::sum);
+            }
+        }
+    }
+
+    private void removePosting(String term, Integer id) {
+        this.postings.computeIfPresent(term, (t, posting) -> {
+            posting.remove(id);
+            return posting.isEmpty() ? null : posting;
+        });
+    }
+
+    private static class ScoredId {
+
+        private final Integer id;
+
+        private final float score;
+
+        ScoredId(Integer id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
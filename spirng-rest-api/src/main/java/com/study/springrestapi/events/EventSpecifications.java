@@ -0,0 +1,83 @@
+package com.study.springrestapi.events;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.JoinType;
+import java.time.LocalDateTime;
+
+/**
+ * EventSearchCondition의 조건마다 Specification을 만들어서 AND로 묶는다.
+ * 값이 없는 조건은 null을 반환하고, Specification.where/and 는 null을 건너뛴다.
+ * Event의 복합 인덱스(@Table indexes)가 자주 쓰는 조합을 받쳐준다.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> of(EventSearchCondition condition) {
+        return Specification.where(equal("eventStatus", condition.getEventStatus()))
+                .and(equal("free", condition.getFree()))
+                .and(equal("offline", condition.getOffline()))
+                .and(basePriceFrom(condition.getPriceFrom()))
+                .and(basePriceTo(condition.getPriceTo()))
+                .and(enrollmentOverlaps(condition.getEnrollmentFrom(), condition.getEnrollmentTo()))
+                .and(manager(condition.getManager()))
+                .and(fetchManager());
+    }
+
+    /**
+     * manager(@ManyToOne, EAGER)를 목록 쿼리에서 같이 가져온다. 없으면 Hibernate가 manager마다 SELECT를 따로 보낸다.
+     * Event 엔티티를 조회할 때만 붙인다. (count 쿼리나 컬럼만 읽는 프로젝션에는 fetch join을 쓸 수 없다)
+     */
+    private static Specification<Event> fetchManager() {
+        return (root, query, cb) -> {
+            if (Event.class.equals(query.getResultType())) {
+                root.fetch("manager", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    private static Specification<Event> equal(String attribute, Object value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    private static Specification<Event> basePriceFrom(Integer price) {
+        if (price == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("basePrice"), price);
+    }
+
+    private static Specification<Event> basePriceTo(Integer price) {
+        if (price == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("basePrice"), price);
+    }
+
+    /**
+     * 두 기간이 겹치려면 등록 시작이 조회 끝보다 앞이고, 등록 마감이 조회 시작보다 뒤면 된다.
+     */
+    private static Specification<Event> enrollmentOverlaps(LocalDateTime from, LocalDateTime to) {
+        Specification<Event> closesAfter = from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("closeEnrollmentDateTime"), from);
+        Specification<Event> beginsBefore = to == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("beginEnrollmentDateTime"), to);
+        return Specification.where(closesAfter).and(beginsBefore);
+    }
+
+    /**
+     * manager.id는 event.manager_id 컬럼이라 member와 조인하지 않는다.
+     */
+    private static Specification<Event> manager(Integer memberId) {
+        if (memberId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("manager").get("id"), memberId);
+    }
+}
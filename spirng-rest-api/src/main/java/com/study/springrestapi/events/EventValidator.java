@@ -31,4 +31,18 @@ public class EventValidator {
          * reject : GlobalError (여러개의 값이 조합해서 발생한 에러의 경우 GlobalError로 처리 권장)
          */
     }
+
+    /**
+     * 목록 조회 필터의 범위 조건 검증
+     */
+    public void validate(EventSearchCondition condition, Errors errors){
+        if (condition.getPriceFrom() != null && condition.getPriceTo() != null
+                && condition.getPriceFrom() > condition.getPriceTo()) {
+            errors.rejectValue("priceFrom","wrongValue","PriceFrom is greater than priceTo");
+        }
+        if (condition.getEnrollmentFrom() != null && condition.getEnrollmentTo() != null
+                && condition.getEnrollmentFrom().isAfter(condition.getEnrollmentTo())) {
+            errors.rejectValue("enrollmentFrom","wrongValue","EnrollmentFrom is after enrollmentTo");
+        }
+    }
 }
@@ -0,0 +1,163 @@
+package com.study.springrestapi.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GET /api/events/{id} 조회수를 이벤트마다 LongAdder(스레드마다 나뉜 셀)에 모으고,
+ * my-app.event-view-flush-interval 마다 지난 flush 이후 늘어난 만큼만 EventRepository.addViewCounts로 한번에 더한다.
+ * 조회 요청은 DB에 쓰지 않는다. 비정상 종료되면 마지막 flush 이후의 조회수를 잃고, 정상 종료할 때는 마지막으로 flush 한다.
+ * flush가 실패하면 늘어난 값이 그대로 남아서 다음 flush에 같이 더해진다.
+ * 늘어난 조회수가 없는 이벤트의 항목은 flush 할 때 빼므로 항목 수는 최근에 조회된 이벤트 수를 넘지 않는다.
+ * 아직 쓰지 않은 조회수는 events.views.pending 메트릭으로 볼 수 있다.
+ */
+@Slf4j
+@Component
+public class EventViewCounter {
+
+    /**
+     * 맵에서 뺀 항목을 계속 읽는 최소 시간. record가 항목을 가져온 뒤 더하고 되돌리기까지 이보다 오래 멈추지 않는다고 본다.
+     */
+    private static final Duration RETIRED_GRACE = Duration.ofSeconds(1);
+
+    private final EventRepository eventRepository;
+
+    private final Map<Integer, ViewCount> viewCounts = new ConcurrentHashMap<>();
+
+    // 지난 flush에서 맵에서 뺀 항목. flush()에서만 바꾼다.
+    private volatile Map<ViewCount, Integer> retired = Map.of();
+
+    public EventViewCounter(EventRepository eventRepository, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        Gauge.builder("events.views.pending", this, EventViewCounter::pendingTotal)
+                .description("Event views not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 있는 이벤트만 기록해야 한다. 없는 id까지 기록하면 flush 전까지 항목이 늘어난다.
+     * 더한 뒤에 flush가 그 항목을 뺀 것(retired)을 보면 되돌리고 새 항목에 다시 센다.
+     */
+    public void record(Integer id) {
+        while (true) {
+            ViewCount viewCount = this.viewCounts.get(id);
+            if (viewCount == null) {
+                viewCount = this.viewCounts.computeIfAbsent(id, key -> new ViewCount());
+            }
+            viewCount.views.increment();
+            if (!viewCount.retired) {
+                return;
+            }
+            viewCount.views.decrement();
+        }
+    }
+
+    /**
+     * 아직 DB에 더하지 않은 조회수
+     */
+    public long pending(Integer id) {
+        ViewCount viewCount = this.viewCounts.get(id);
+        return viewCount == null ? 0 : viewCount.pending();
+    }
+
+    /**
+     * 항목을 바로 지우지 않고 flush한 값까지만 기억하므로 flush 하는 동안 더한 조회수를 잃지 않는다.
+     * 늘어난 조회수가 없는 항목은 retired로 표시하고 맵에서 뺀다. 표시하기 전에 더한 조회수는 빼낸 항목에 남아 있으므로
+     * 빼낸 항목은 RETIRED_GRACE가 지나고 더 바뀌지 않을 때까지 flush 할 때마다 읽는다.
+     * 표시를 본 record는 되돌리므로 그 사이에 읽은 값은 잠깐 1 많을 수 있고, 다음 flush에서 음수로 맞춰진다.
+     * 지워진 이벤트의 항목은 바로 뺀다.
+     */
+    @Scheduled(fixedDelayString = "#{@appProperties.eventViewFlushInterval.toMillis()}",
+            initialDelayString = "#{@appProperties.eventViewFlushInterval.toMillis()}")
+    public synchronized void flush() {
+        Map<Integer, Long> increments = new HashMap<>();
+        Map<ViewCount, Long> flushing = new HashMap<>();
+        Map<ViewCount, Integer> idle = new HashMap<>();
+        this.viewCounts.forEach((id, viewCount) -> {
+            if (!take(id, viewCount, increments, flushing)) {
+                idle.put(viewCount, id);
+            }
+        });
+        long now = System.nanoTime();
+        Map<ViewCount, Integer> retiring = new HashMap<>();
+        this.retired.forEach((viewCount, id) -> {
+            if (take(id, viewCount, increments, flushing) || now - viewCount.retiredAt < RETIRED_GRACE.toNanos()) {
+                retiring.put(viewCount, id);
+            }
+        });
+        if (!increments.isEmpty()) {
+            Set<Integer> missing = this.eventRepository.addViewCounts(increments);
+            flushing.forEach((viewCount, increment) -> viewCount.flushed += increment);
+            missing.forEach(this.viewCounts::remove);
+            idle.values().removeAll(missing);
+            retiring.values().removeAll(missing);
+        }
+        idle.forEach((viewCount, id) -> {
+            viewCount.retiredAt = now;
+            viewCount.retired = true;
+            this.viewCounts.remove(id, viewCount);
+        });
+        retiring.putAll(idle);
+        this.retired = retiring;
+    }
+
+    private static boolean take(Integer id, ViewCount viewCount, Map<Integer, Long> increments, Map<ViewCount, Long> flushing) {
+        long pending = viewCount.pending();
+        if (pending == 0) {
+            return false;
+        }
+        increments.merge(id, pending, Long::sum);
+        flushing.put(viewCount, pending);
+        return true;
+    }
+
+    /**
+     * 조회수를 모으고 있는 이벤트 수
+     */
+    int size() {
+        return this.viewCounts.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush event views on shutdown", e);
+        }
+    }
+
+    private double pendingTotal() {
+        return this.viewCounts.values().stream().mapToLong(ViewCount::pending).sum()
+                + this.retired.keySet().stream().mapToLong(ViewCount::pending).sum();
+    }
+
+    private static class ViewCount {
+
+        private final LongAdder views = new LongAdder();
+
+        // flush()에서만 바꾼다.
+        private volatile long flushed;
+
+        // flush()가 맵에서 뺀 항목. 이후에 더한 record는 되돌리고 새 항목에 센다.
+        private volatile boolean retired;
+
+        // flush()에서만 쓴다.
+        private long retiredAt;
+
+        long pending() {
+            return this.views.sum() - this.flushed;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.study.springrestapi.events;
+
+import lombok.Getter;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * GET /api/events/{id}/views 응답 본문
+ */
+@Getter
+public class EventViews extends RepresentationModel<EventViews> {
+
+    private final Integer id;
+
+    private final long viewCount;
+
+    public EventViews(Integer id, long viewCount) {
+        this.id = id;
+        this.viewCount = viewCount;
+    }
+}
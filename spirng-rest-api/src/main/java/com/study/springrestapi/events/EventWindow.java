@@ -0,0 +1,32 @@
+package com.study.springrestapi.events;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * GET /api/events/window 에서 찾을 Event의 기간
+ * ENROLLMENT : beginEnrollmentDateTime ~ closeEnrollmentDateTime
+ * EVENT : beginEventDateTime ~ endEventDateTime
+ */
+public enum EventWindow {
+
+    ENROLLMENT(Event::getBeginEnrollmentDateTime, Event::getCloseEnrollmentDateTime),
+    EVENT(Event::getBeginEventDateTime, Event::getEndEventDateTime);
+
+    private final Function<Event, LocalDateTime> begin;
+
+    private final Function<Event, LocalDateTime> end;
+
+    EventWindow(Function<Event, LocalDateTime> begin, Function<Event, LocalDateTime> end) {
+        this.begin = begin;
+        this.end = end;
+    }
+
+    public LocalDateTime getBegin(Event event) {
+        return begin.apply(event);
+    }
+
+    public LocalDateTime getEnd(Event event) {
+        return end.apply(event);
+    }
+}
@@ -0,0 +1,138 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.AppProperties;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Event의 등록 기간, 이벤트 기간을 EventWindow 마다 IntervalTree로 들고 있는 메모리 색인
+ * - 애플리케이션이 뜰 때 DB에서 (id, 날짜 4개)만 읽어서 한번 만들고,
+ *   이후에는 EventSearchIndex와 같은 곳(EventController, EventImporter)에서 index를 불러서 바뀐 이벤트만 다시 넣는다.
+ * - "지금 등록할 수 있는 이벤트"(from = to = 지금)나 "이번 주와 겹치는 이벤트" 를 DB 범위 스캔 없이 찾는다.
+ * - 날짜가 비어있는 기간은 색인하지 않는다.
+ */
+@Component
+public class EventWindowIndex {
+
+    private final Map<EventWindow, IntervalTree> trees = new EnumMap<>(EventWindow.class);
+
+    // 수정/삭제할 때 트리에서 찾을 수 있도록 색인한 시작 시간을 id 별로 기억한다.
+    private final Map<Integer, Map<EventWindow, LocalDateTime>> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public EventWindowIndex(AppProperties appProperties) {
+        this.fetchSize = appProperties.getEventExportFetchSize();
+        for (EventWindow window : EventWindow.values()) {
+            this.trees.put(window, new IntervalTree());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        clear();
+        try (Stream<Object[]> rows = entityManager.createQuery("select e.id, e.beginEnrollmentDateTime, e.closeEnrollmentDateTime, " +
+                        "e.beginEventDateTime, e.endEventDateTime from Event e", Object[].class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream()) {
+            rows.forEach(row -> {
+                Map<EventWindow, LocalDateTime[]> windows = new EnumMap<>(EventWindow.class);
+                windows.put(EventWindow.ENROLLMENT, new LocalDateTime[]{(LocalDateTime) row[1], (LocalDateTime) row[2]});
+                windows.put(EventWindow.EVENT, new LocalDateTime[]{(LocalDateTime) row[3], (LocalDateTime) row[4]});
+                index((Integer) row[0], windows);
+            });
+        }
+    }
+
+    public void index(Event event) {
+        Map<EventWindow, LocalDateTime[]> windows = new EnumMap<>(EventWindow.class);
+        for (EventWindow window : EventWindow.values()) {
+            windows.put(window, new LocalDateTime[]{window.getBegin(event), window.getEnd(event)});
+        }
+        index(event.getId(), windows);
+    }
+
+    private void index(Integer id, Map<EventWindow, LocalDateTime[]> windows) {
+        this.lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            Map<EventWindow, LocalDateTime> begins = new EnumMap<>(EventWindow.class);
+            windows.forEach((window, interval) -> {
+                if (interval[0] != null && interval[1] != null) {
+                    this.trees.get(window).add(id, interval[0], interval[1]);
+                    begins.put(window, interval[0]);
+                }
+            });
+            this.documents.put(id, begins);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        this.lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.trees.values().forEach(IntervalTree::clear);
+            this.documents.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * window 기간이 from ~ to (양 끝 포함)와 겹치는 이벤트 id를 시작 시간, id 순서로 반환한다.
+     */
+    public Page<Integer> search(EventWindow window, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        List<Integer> ids = new ArrayList<>();
+        this.lock.readLock().lock();
+        try {
+            this.trees.get(window).overlapping(from, to, ids);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        int start = (int) Math.min(pageable.getOffset(), ids.size());
+        int end = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(new ArrayList<>(ids.subList(start, end)), pageable, ids.size());
+    }
+
+    private void removeInternal(Integer id) {
+        Map<EventWindow, LocalDateTime> previous = this.documents.remove(id);
+        if (previous != null) {
+            previous.forEach((window, begin) -> this.trees.get(window).remove(id, begin));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.study.springrestapi.events;
+
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+/**
+ * 구현체(GeneratedEventMapperImpl)는 빌드할 때 생성된다.
+ * Event의 @Builder를 쓰면 eventStatus 기본값(DRAFT)이 빠지므로 기본 생성자를 쓰도록 builder를 끈다.
+ * id, free, offline, eventStatus, manager, version, viewCount는 ModelMapper와 마찬가지로 DTO에 없으므로 건드리지 않는다.
+ */
+@Mapper(builder = @Builder(disableBuilder = true))
+public interface GeneratedEventMapper extends EventMapper {
+
+    @Override
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "free", ignore = true)
+    @Mapping(target = "offline", ignore = true)
+    @Mapping(target = "eventStatus", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "viewCount", ignore = true)
+    Event toEvent(EventDto eventDto);
+
+    @Override
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "free", ignore = true)
+    @Mapping(target = "offline", ignore = true)
+    @Mapping(target = "eventStatus", ignore = true)
+    @Mapping(target = "manager", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "viewCount", ignore = true)
+    void updateEvent(EventDto eventDto, @MappingTarget Event event);
+}
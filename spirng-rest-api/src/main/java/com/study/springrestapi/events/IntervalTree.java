@@ -0,0 +1,175 @@
+package com.study.springrestapi.events;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * (begin, id) 순서로 정렬한 treap에 서브트리의 가장 늦은 end(maxEnd)를 같이 저장한 구간 트리
+ * - 추가/삭제는 O(log n), 겹치는 구간 k개 찾기는 O(log n + k) 에 가깝다. (최악은 O(k log n))
+ * - 구간은 양 끝을 포함한다. (begin <= to && end >= from 이면 겹친다)
+ * - 동기화하지 않는다. 잠금은 EventWindowIndex에서 한다.
+ */
+class IntervalTree {
+
+    private final SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+
+    private Node root;
+
+    private int size;
+
+    void add(Integer id, LocalDateTime begin, LocalDateTime end) {
+        this.root = insert(this.root, new Node(id, begin, end, this.random.nextInt()));
+        this.size++;
+    }
+
+    void remove(Integer id, LocalDateTime begin) {
+        int before = this.size;
+        this.root = delete(this.root, id, begin);
+        if (this.size == before) {
+            throw new IllegalStateException("Interval of event " + id + " is not in the tree");
+        }
+    }
+
+    void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * from ~ to 와 겹치는 구간의 id를 begin, id 순서로 result에 담는다.
+     */
+    void overlapping(LocalDateTime from, LocalDateTime to, List<Integer> result) {
+        collect(this.root, from, to, result);
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<Integer> result) {
+        // 서브트리에 from 이후에 끝나는 구간이 없으면 내려가지 않는다.
+        if (node == null || node.maxEnd.isBefore(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        // 오른쪽은 모두 node.begin 이후에 시작하므로 node가 to 뒤에서 시작하면 볼 필요가 없다.
+        if (node.begin.isAfter(to)) {
+            return;
+        }
+        if (!node.end.isBefore(from)) {
+            result.add(node.id);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.begin, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, Integer id, LocalDateTime begin) {
+        if (node == null) {
+            return null;
+        }
+        int compare = compare(begin, id, node);
+        if (compare < 0) {
+            node.left = delete(node.left, id, begin);
+        } else if (compare > 0) {
+            node.right = delete(node.right, id, begin);
+        } else {
+            this.size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.update();
+        left.right = node;
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.update();
+        right.left = node;
+        return right;
+    }
+
+    private static int compare(LocalDateTime begin, Integer id, Node node) {
+        int compare = begin.compareTo(node.begin);
+        return compare != 0 ? compare : id.compareTo(node.id);
+    }
+
+    private static class Node {
+
+        private final Integer id;
+
+        private final LocalDateTime begin;
+
+        private final LocalDateTime end;
+
+        private final int priority;
+
+        private LocalDateTime maxEnd;
+
+        private Node left;
+
+        private Node right;
+
+        Node(Integer id, LocalDateTime begin, LocalDateTime end, int priority) {
+            this.id = id;
+            this.begin = begin;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            LocalDateTime max = this.end;
+            if (this.left != null && this.left.maxEnd.isAfter(max)) {
+                max = this.left.maxEnd;
+            }
+            if (this.right != null && this.right.maxEnd.isAfter(max)) {
+                max = this.right.maxEnd;
+            }
+            this.maxEnd = max;
+        }
+    }
+}
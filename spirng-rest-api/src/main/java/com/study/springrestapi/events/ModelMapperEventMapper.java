@@ -0,0 +1,22 @@
+package com.study.springrestapi.events;
+
+import org.modelmapper.ModelMapper;
+
+public class ModelMapperEventMapper implements EventMapper {
+
+    private final ModelMapper modelMapper;
+
+    public ModelMapperEventMapper(ModelMapper modelMapper) {
+        this.modelMapper = modelMapper;
+    }
+
+    @Override
+    public Event toEvent(EventDto eventDto) {
+        return this.modelMapper.map(eventDto, Event.class);
+    }
+
+    @Override
+    public void updateEvent(EventDto eventDto, Event event) {
+        this.modelMapper.map(eventDto, event);
+    }
+}
@@ -1,18 +1,16 @@
 package com.study.springrestapi.index;
 
-import com.study.springrestapi.events.EventController;
+import com.study.springrestapi.events.EventLinks;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-
 @RestController
 public class IndexController {
     @GetMapping("/api")
     public RepresentationModel index() {
         var index = new RepresentationModel();
-        index.add(linkTo(EventController.class).withRel("events"));
+        index.add(EventLinks.collection("events"));
         return index;
     }
 }
@@ -1,5 +1,18 @@
 package com.study.springrestapi.member;
 
+/**
+ * bit는 member.roles 컬럼(비트마스크)에 저장되는 값이므로 기존 값을 바꾸면 안 된다.
+ */
 public enum AccountRole {
-    ADMIN, USER;
+    ADMIN(1), USER(1 << 1);
+
+    private final int bit;
+
+    AccountRole(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
 }
@@ -0,0 +1,68 @@
+package com.study.springrestapi.member;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 역할 조합(비트마스크)마다 변경할 수 없는 역할 Set과 권한 Set을 미리 만들어 두고 공유한다.
+ * 역할이 n개면 조합은 2^n개 뿐이라 회원을 읽을 때마다 Set과 SimpleGrantedAuthority를 새로 만들 필요가 없다.
+ */
+public final class AccountRoles {
+
+    private static final AccountRole[] ROLES = AccountRole.values();
+
+    private static final int ALL = EnumSet.allOf(AccountRole.class).stream().mapToInt(AccountRole::getBit).reduce(0, (a, b) -> a | b);
+
+    @SuppressWarnings("unchecked")
+    private static final Set<AccountRole>[] ROLE_SETS = new Set[ALL + 1];
+
+    @SuppressWarnings("unchecked")
+    private static final Set<GrantedAuthority>[] AUTHORITIES = new Set[ALL + 1];
+
+    static {
+        for (int mask = 0; mask <= ALL; mask++) {
+            if ((mask & ~ALL) != 0) {
+                continue;
+            }
+            EnumSet<AccountRole> roles = EnumSet.noneOf(AccountRole.class);
+            for (AccountRole role : ROLES) {
+                if ((mask & role.getBit()) != 0) {
+                    roles.add(role);
+                }
+            }
+            ROLE_SETS[mask] = Collections.unmodifiableSet(roles);
+            AUTHORITIES[mask] = roles.stream()
+                    .map(r -> new SimpleGrantedAuthority("ROLE" + r.name()))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
+    private AccountRoles() {
+    }
+
+    public static int toMask(Set<AccountRole> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (AccountRole role : roles) {
+                mask |= role.getBit();
+            }
+        }
+        return mask;
+    }
+
+    public static Set<AccountRole> fromMask(int mask) {
+        if (mask < 0 || mask > ALL || ROLE_SETS[mask] == null) {
+            throw new IllegalArgumentException("Unknown role mask: " + mask);
+        }
+        return ROLE_SETS[mask];
+    }
+
+    public static Set<GrantedAuthority> authorities(Set<AccountRole> roles) {
+        return AUTHORITIES[toMask(roles)];
+    }
+}
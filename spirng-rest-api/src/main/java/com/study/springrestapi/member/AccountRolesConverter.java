@@ -0,0 +1,23 @@
+package com.study.springrestapi.member;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Set;
+
+/**
+ * Member.roles를 별도 테이블 대신 member.roles 정수 컬럼 하나에 비트마스크로 저장한다.
+ * 읽은 값은 AccountRoles가 공유하는 변경 불가 Set이므로 역할을 바꿀 때는 setRoles로 새 Set을 넣는다.
+ */
+@Converter
+public class AccountRolesConverter implements AttributeConverter<Set<AccountRole>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<AccountRole> roles) {
+        return AccountRoles.toMask(roles);
+    }
+
+    @Override
+    public Set<AccountRole> convertToEntityAttribute(Integer mask) {
+        return AccountRoles.fromMask(mask == null ? 0 : mask);
+    }
+}
@@ -17,7 +17,10 @@ public class Member {
     private String email;
     private String password;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @Enumerated(value = EnumType.STRING)
+    /**
+     * 역할 비트마스크 (AccountRole.bit), 조회할 때 조인하지 않는다.
+     */
+    @Convert(converter = AccountRolesConverter.class)
+    @Column(nullable = false)
     private Set<AccountRole> roles;
 }
@@ -1,8 +1,14 @@
 package com.study.springrestapi.member;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.study.springrestapi.common.AppProperties;
+import com.study.springrestapi.configs.VirtualThreadConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,33 +16,84 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+
+/**
+ * password, refresh_token grant 마다 불리는 loadUserByUsername 결과를 이메일별로 캐시한다.
+ * 최대 개수(my-app.member-cache-maximum-size)와 TTL(my-app.member-cache-ttl)로 만료되고 saveMember에서 무효화한다.
+ * hit/miss 수는 cache.gets 메트릭(cache=memberDetails)으로 볼 수 있다.
+ * 가상 스레드 모드(my-app.virtual-threads)에서는 DB 조회를 가상 스레드 executor에서 하고 호출한 쪽은 결과를 기다린다.
+ * 동기 캐시처럼 캐시 내부 락(synchronized)을 잡은 채로 조회하면 그동안 가상 스레드가 캐리어 스레드에 고정되기 때문이다.
+ * 그 외에는 호출한 스레드에서 바로 조회한다.
+ */
 @Service
-@RequiredArgsConstructor
 public class MemberService implements UserDetailsService {
 
+    public static final String CACHE_NAME = "memberDetails";
+
     private final MemberRepository memberRepository;
 
     private final PasswordEncoder passwordEncoder;
 
+    private final AsyncCache<String, UserDetails> userDetailsCache;
+
+    public MemberService(MemberRepository memberRepository, PasswordEncoder passwordEncoder,
+                         AppProperties appProperties, MeterRegistry meterRegistry,
+                         @Qualifier(VirtualThreadConfig.EXECUTOR_BEAN_NAME) ObjectProvider<Executor> lookupExecutor) {
+        this.memberRepository = memberRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getMemberCacheMaximumSize())
+                .expireAfterWrite(appProperties.getMemberCacheTtl())
+                .executor(lookupExecutor.getIfAvailable(() -> Runnable::run))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.userDetailsCache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * 이메일을 바꾼 경우 이전 이메일로 캐시된 값은 TTL이 지나야 사라진다.
+     */
     public Member saveMember(Member member){
         member.setPassword(this.passwordEncoder.encode(member.getPassword()));
-        return this.memberRepository.save(member);
+        Member saved = this.memberRepository.save(member);
+        this.userDetailsCache.synchronous().invalidate(saved.getEmail());
+        return saved;
     }
 
+    /**
+     * 인증이 끝나면 ProviderManager가 반환된 User의 비밀번호를 지우기 때문에(eraseCredentials)
+     * 캐시된 객체는 밖으로 내보내지 않고 복사본을 반환한다.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Member member = memberRepository.findByEmail(username).orElseThrow(()-> new UsernameNotFoundException(username));
-        return new User(member.getEmail(), member.getPassword(), authorities(member.getRoles()));
+        UserDetails cached;
+        try {
+            cached = this.userDetailsCache.get(username, this::findUserDetails).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        if (cached == null) {
+            throw new UsernameNotFoundException(username);
+        }
+        return User.withUserDetails(cached).build();
+    }
+
+    public CacheStats stats() {
+        return this.userDetailsCache.synchronous().stats();
     }
 
-    private Collection<? extends GrantedAuthority> authorities(Set<AccountRole> roles) {
-        return roles
-                .stream()
-                .map(r-> new SimpleGrantedAuthority("ROLE" + r.name()))
-                .collect(Collectors.toSet());
+    /**
+     * 없는 사용자는 null을 반환해서 캐시하지 않는다.
+     */
+    private UserDetails findUserDetails(String username) {
+        return memberRepository.findByEmail(username)
+                .map(member -> new User(member.getEmail(), member.getPassword(), AccountRoles.authorities(member.getRoles())))
+                .orElse(null);
     }
 }
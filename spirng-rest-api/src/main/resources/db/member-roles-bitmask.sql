@@ -0,0 +1,18 @@
+-- Member.roles: member_roles 컬렉션 테이블 -> member.roles 비트마스크 컬럼 (PostgreSQL)
+-- ddl-auto=create-drop 환경에서는 필요 없고, 기존 데이터를 유지하는 DB에서 한번 실행한다.
+-- 비트 값은 AccountRole.bit 와 같아야 한다. (ADMIN=1, USER=2)
+BEGIN;
+
+ALTER TABLE member ADD COLUMN roles integer NOT NULL DEFAULT 0;
+
+UPDATE member m
+SET roles = COALESCE((SELECT SUM(r.bit)
+                      FROM (SELECT DISTINCT CASE mr.roles WHEN 'ADMIN' THEN 1 WHEN 'USER' THEN 2 END AS bit
+                            FROM member_roles mr
+                            WHERE mr.member_id = m.id) r), 0);
+
+ALTER TABLE member ALTER COLUMN roles DROP DEFAULT;
+
+DROP TABLE member_roles;
+
+COMMIT;
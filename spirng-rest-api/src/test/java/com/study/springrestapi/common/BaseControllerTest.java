@@ -1,6 +1,7 @@
 package com.study.springrestapi.common;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.springrestapi.configs.SqlStatisticsFilter;
 import org.junit.Ignore;
 import org.junit.runner.RunWith;
 import org.modelmapper.ModelMapper;
@@ -12,6 +13,9 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * TDD 방식은 최소 3가지 삼각기법? 을 이용해서 처리를 한다고 한다.
@@ -54,4 +58,23 @@ public class BaseControllerTest {
 
     @Autowired
     protected ModelMapper modelMapper;
+
+    /**
+     * 요청 하나가 보낸 SQL 문장 수(SqlStatisticsFilter의 X-SQL-Statements)가 budget을 넘으면 실패한다.
+     * 엔드포인트마다 예산을 정해두면 N+1이나 불필요한 조회가 늘어났을 때 빌드가 깨진다.
+     */
+    protected static ResultMatcher sqlStatementsAtMost(int budget) {
+        return result -> assertThat(Integer.parseInt(result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER)))
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * 같은 SELECT가 반복된 흔적(X-SQL-Suspected-N-Plus-One)이 없어야 한다.
+     */
+    protected static ResultMatcher noSuspectedNPlusOne() {
+        return result -> assertThat(result.getResponse().getHeader(SqlStatisticsFilter.N_PLUS_ONE_HEADER))
+                .as("Suspected N+1 of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo("0");
+    }
 }
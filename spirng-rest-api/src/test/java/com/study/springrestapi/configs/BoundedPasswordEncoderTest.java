@@ -0,0 +1,99 @@
+package com.study.springrestapi.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.springrestapi.common.TestDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    CountDownLatch started = new CountDownLatch(1);
+
+    CountDownLatch release = new CountDownLatch(1);
+
+    BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, meterRegistry);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    @TestDescription("전용 스레드와 대기열이 모두 차면 기다리지 않고 바로 거절한다")
+    public void rejectWhenSaturated() throws Exception {
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordEncoder.matches("pass", "pass"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("pass"));
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> passwordEncoder.matches("pass", "other"))
+                .isInstanceOf(PasswordHashingUnavailableException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("pass");
+        assertThat(meterRegistry.get("password.hashing.rejections").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "matches").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("필터 뒤에서 거절되면 503과 Retry-After, OAuth2 에러 본문으로 응답한다")
+    public void filterRespondsServiceUnavailable() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new PasswordHashingUnavailableFilter(new ObjectMapper()).doFilter(new MockHttpServletRequest("POST", "/oauth/token"), response,
+                (req, res) -> { throw new PasswordHashingUnavailableException("Too many password hashing requests"); });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("\"error\":\"temporarily_unavailable\"");
+    }
+
+    /**
+     * release 될 때까지 해시 계산이 끝나지 않는 인코더
+     */
+    class BlockingPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate = NoOpPasswordEncoder.getInstance();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
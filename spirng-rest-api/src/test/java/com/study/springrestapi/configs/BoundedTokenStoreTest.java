@@ -0,0 +1,193 @@
+package com.study.springrestapi.configs;
+
+import com.study.springrestapi.common.TestDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedTokenStoreTest {
+
+    MutableClock clock = new MutableClock();
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @TestDescription("저장한 토큰을 토큰 값, 인증 정보, 클라이언트와 사용자로 찾을 수 있다")
+    public void storeAndRead() {
+        BoundedTokenStore tokenStore = new BoundedTokenStore(100, meterRegistry, clock);
+        OAuth2Authentication authentication = authentication("user");
+        DefaultOAuth2AccessToken accessToken = accessToken("access", Duration.ofMinutes(10));
+        accessToken.setRefreshToken(new DefaultExpiringOAuth2RefreshToken("refresh", expiration(Duration.ofHours(1))));
+
+        tokenStore.storeAccessToken(accessToken, authentication);
+        tokenStore.storeRefreshToken(accessToken.getRefreshToken(), authentication);
+
+        assertThat(tokenStore.readAccessToken("access")).isSameAs(accessToken);
+        assertThat(tokenStore.readAuthentication("access")).isSameAs(authentication);
+        assertThat(tokenStore.getAccessToken(authentication("user"))).isSameAs(accessToken);
+        assertThat(tokenStore.findTokensByClientIdAndUserName("myApp", "user")).containsExactly(accessToken);
+        assertThat(tokenStore.findTokensByClientId("myApp")).containsExactly(accessToken);
+        assertThat(tokenStore.readAuthenticationForRefreshToken(accessToken.getRefreshToken())).isSameAs(authentication);
+        assertThat(meterRegistry.get("oauth2.tokens").tag("type", "access").gauge().value()).isEqualTo(1);
+
+        tokenStore.removeAccessTokenUsingRefreshToken(accessToken.getRefreshToken());
+        assertThat(tokenStore.readAccessToken("access")).isNull();
+        assertThat(tokenStore.getAccessToken(authentication)).isNull();
+        assertThat(tokenStore.findTokensByClientId("myApp")).isEmpty();
+        assertThat(tokenStore.readRefreshToken("refresh")).isNotNull();
+
+        tokenStore.removeRefreshToken(accessToken.getRefreshToken());
+        assertThat(tokenStore.readRefreshToken("refresh")).isNull();
+    }
+
+    @Test
+    @TestDescription("만료 시간이 지나면 백그라운드 sweep에서 토큰과 인덱스가 지워진다")
+    public void sweepExpiredTokens() {
+        BoundedTokenStore tokenStore = new BoundedTokenStore(100, meterRegistry, clock);
+        tokenStore.storeAccessToken(accessToken("short", Duration.ofSeconds(10)), authentication("user"));
+        tokenStore.storeAccessToken(accessToken("long", Duration.ofHours(1)), authentication("admin"));
+        tokenStore.storeRefreshToken(new DefaultExpiringOAuth2RefreshToken("refresh", expiration(Duration.ofSeconds(30))), authentication("user"));
+
+        clock.advance(Duration.ofSeconds(5));
+        tokenStore.sweep();
+        assertThat(tokenStore.getAccessTokenCount()).isEqualTo(2);
+
+        clock.advance(Duration.ofSeconds(6));
+        tokenStore.sweep();
+        assertThat(tokenStore.readAccessToken("short")).isNull();
+        assertThat(tokenStore.findTokensByClientIdAndUserName("myApp", "user")).isEmpty();
+        assertThat(tokenStore.readAccessToken("long")).isNotNull();
+        assertThat(tokenStore.getRefreshTokenCount()).isEqualTo(1);
+
+        // sweep이 오래 멈춰 있었어도 밀린 칸을 모두 확인한다.
+        clock.advance(Duration.ofHours(2));
+        tokenStore.sweep();
+        assertThat(tokenStore.getAccessTokenCount()).isZero();
+        assertThat(tokenStore.getRefreshTokenCount()).isZero();
+        assertThat(meterRegistry.get("oauth2.tokens.evictions").tag("cause", "expired").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @TestDescription("sweep이 이미 확인한 칸에 해당하는 토큰도 한 바퀴를 기다리지 않고 다음 sweep에서 지운다")
+    public void sweepTokenScheduledIntoSweptSlot() {
+        BoundedTokenStore tokenStore = new BoundedTokenStore(100, meterRegistry, clock);
+        // 12:00:01.100 에 12:00:01 칸을 확인했다.
+        clock.advance(Duration.ofMillis(600));
+        tokenStore.sweep();
+
+        // 12:00:01.200 에 만료되는 토큰과 이미 만료된 토큰
+        tokenStore.storeAccessToken(accessToken("later-this-second", Duration.ofMillis(100)), authentication("user"));
+        tokenStore.storeAccessToken(accessToken("expired", Duration.ofSeconds(-5)), authentication("admin"));
+        tokenStore.storeRefreshToken(new DefaultExpiringOAuth2RefreshToken("refresh", expiration(Duration.ofSeconds(-5))), authentication("user"));
+        assertThat(tokenStore.getAccessTokenCount()).isEqualTo(2);
+
+        clock.advance(Duration.ofSeconds(1));
+        tokenStore.sweep();
+        assertThat(tokenStore.getAccessTokenCount()).isZero();
+        assertThat(tokenStore.getRefreshTokenCount()).isZero();
+        assertThat(tokenStore.findTokensByClientId("myApp")).isEmpty();
+    }
+
+    @Test
+    @TestDescription("휠의 같은 칸에 있어도 한 바퀴 뒤에 만료되는 토큰보다 만료가 가까운 토큰을 먼저 지운다")
+    public void evictByExpiryAcrossRevolutions() {
+        BoundedTokenStore tokenStore = new BoundedTokenStore(4, meterRegistry, clock);
+
+        // 1024초 휠에서 1034초는 10초 칸이라서 20초, 30초 칸보다 앞에 있다.
+        tokenStore.storeAccessToken(accessToken("next-revolution", Duration.ofSeconds(1034)), authentication("user1"));
+        tokenStore.storeAccessToken(accessToken("far", Duration.ofHours(2)), authentication("user2"));
+        tokenStore.storeAccessToken(accessToken("near", Duration.ofSeconds(20)), authentication("user3"));
+        tokenStore.storeAccessToken(accessToken("never", null), authentication("user4"));
+        tokenStore.storeAccessToken(accessToken("soon", Duration.ofSeconds(30)), authentication("user5"));
+
+        assertThat(tokenStore.readAccessToken("near")).isNull();
+        assertThat(tokenStore.readAccessToken("soon")).isNull();
+        assertThat(tokenStore.readAccessToken("next-revolution")).isNotNull();
+        assertThat(tokenStore.readAccessToken("far")).isNotNull();
+        assertThat(tokenStore.readAccessToken("never")).isNotNull();
+
+        // 한 바퀴 안에 만료되는 토큰이 없으면 나머지 중 만료 시간이 이른 것부터 지운다.
+        tokenStore.storeAccessToken(accessToken("farther", Duration.ofHours(3)), authentication("user6"));
+        tokenStore.storeAccessToken(accessToken("farthest", Duration.ofHours(4)), authentication("user7"));
+        assertThat(tokenStore.readAccessToken("next-revolution")).isNull();
+        assertThat(tokenStore.readAccessToken("far")).isNull();
+        assertThat(tokenStore.readAccessToken("farther")).isNotNull();
+        assertThat(tokenStore.readAccessToken("farthest")).isNotNull();
+        assertThat(tokenStore.readAccessToken("never")).isNotNull();
+    }
+
+    @Test
+    @TestDescription("maximumSize를 넘으면 만료가 가까운 토큰부터 maximumSize의 99%가 될 때까지 지운다")
+    public void evictWhenFull() {
+        BoundedTokenStore tokenStore = new BoundedTokenStore(4, meterRegistry, clock);
+
+        for (int i = 1; i <= 5; i++) {
+            tokenStore.storeAccessToken(accessToken("token" + i, Duration.ofSeconds(i * 10)), authentication("user" + i));
+        }
+
+        assertThat(tokenStore.getAccessTokenCount()).isEqualTo(3);
+        assertThat(tokenStore.readAccessToken("token5")).isNotNull();
+        assertThat(tokenStore.readAccessToken("token4")).isNotNull();
+        assertThat(tokenStore.readAccessToken("token3")).isNotNull();
+        assertThat(tokenStore.readAccessToken("token1")).isNull();
+        assertThat(tokenStore.findTokensByClientId("myApp")).hasSize(3);
+        assertThat(meterRegistry.get("oauth2.tokens.evictions").tag("cause", "size").counter().count()).isEqualTo(2);
+    }
+
+    private DefaultOAuth2AccessToken accessToken(String value, Duration validity) {
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(value);
+        accessToken.setExpiration(validity == null ? null : expiration(validity));
+        return accessToken;
+    }
+
+    private Date expiration(Duration validity) {
+        return Date.from(clock.instant().plus(validity));
+    }
+
+    private OAuth2Authentication authentication(String username) {
+        var authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", authorities, true, Set.of("read"),
+                null, null, null, null);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(username, "N/A", authorities));
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2021-04-20T12:00:00.500Z");
+
+        void advance(Duration duration) {
+            this.instant = this.instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
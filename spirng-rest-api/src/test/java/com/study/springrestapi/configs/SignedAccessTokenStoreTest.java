@@ -0,0 +1,116 @@
+package com.study.springrestapi.configs;
+
+import com.study.springrestapi.common.AppProperties;
+import com.study.springrestapi.common.TestDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidGrantException;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.TokenRequest;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SignedAccessTokenStoreTest {
+
+    static final String SIGNING_KEY = "test-hmac-signing-key-0123456789abcdef";
+
+    SignedAccessTokenStore tokenStore;
+
+    DefaultTokenServices tokenServices;
+
+    @Before
+    public void setUp() throws Exception {
+        this.tokenStore = new SignedAccessTokenStore(SIGNING_KEY, 100, new SimpleMeterRegistry());
+        this.tokenServices = new DefaultTokenServices();
+        this.tokenServices.setTokenStore(this.tokenStore);
+        this.tokenServices.setTokenEnhancer(this.tokenStore.getAccessTokenConverter());
+        this.tokenServices.setSupportRefreshToken(true);
+        this.tokenServices.setReuseRefreshToken(false);
+        this.tokenServices.afterPropertiesSet();
+    }
+
+    @Test
+    @TestDescription("서명된 액세스 토큰은 저장하지 않고 토큰 값만으로 인증 정보를 복원한다")
+    public void loadAuthenticationWithoutStore() {
+        OAuth2AccessToken accessToken = this.tokenServices.createAccessToken(authentication("user"));
+
+        assertThat(accessToken.getValue().split("\\.")).hasSize(3);
+        assertThat(this.tokenStore.getAccessTokenCount()).isZero();
+        assertThat(this.tokenStore.getRefreshTokenCount()).isEqualTo(1);
+
+        OAuth2Authentication loaded = this.tokenServices.loadAuthentication(accessToken.getValue());
+        assertThat(loaded.getName()).isEqualTo("user");
+        assertThat(loaded.getOAuth2Request().getClientId()).isEqualTo("myApp");
+        assertThat(loaded.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @TestDescription("서명이 다른 토큰이나 리프레시 토큰은 액세스 토큰으로 받지 않는다")
+    public void rejectTamperedOrRefreshToken() throws Exception {
+        OAuth2AccessToken accessToken = this.tokenServices.createAccessToken(authentication("user"));
+
+        SignedAccessTokenStore otherStore = new SignedAccessTokenStore(SIGNING_KEY + "-other", 100, new SimpleMeterRegistry());
+        DefaultTokenServices otherServices = new DefaultTokenServices();
+        otherServices.setTokenStore(otherStore);
+        otherServices.setTokenEnhancer(otherStore.getAccessTokenConverter());
+        otherServices.afterPropertiesSet();
+        String forged = otherServices.createAccessToken(authentication("admin")).getValue();
+
+        assertThatThrownBy(() -> this.tokenServices.loadAuthentication(forged))
+                .isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> this.tokenServices.loadAuthentication(accessToken.getRefreshToken().getValue()))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @TestDescription("리프레시 토큰은 저장소에 있어야 쓸 수 있고 refresh 할 때마다 새 리프레시 토큰으로 바뀐다")
+    public void refreshTokenIsStateful() {
+        OAuth2AccessToken accessToken = this.tokenServices.createAccessToken(authentication("user"));
+        String refreshToken = accessToken.getRefreshToken().getValue();
+        TokenRequest tokenRequest = new TokenRequest(Map.of(), "myApp", Set.of("read"), "refresh_token");
+
+        OAuth2AccessToken refreshed = this.tokenServices.refreshAccessToken(refreshToken, tokenRequest);
+
+        assertThat(this.tokenServices.loadAuthentication(refreshed.getValue()).getName()).isEqualTo("user");
+        assertThat(refreshed.getRefreshToken().getValue()).isNotEqualTo(refreshToken);
+        assertThat(this.tokenStore.readRefreshToken(refreshToken)).isNull();
+        assertThat(this.tokenStore.readRefreshToken(refreshed.getRefreshToken().getValue())).isNotNull();
+        assertThatThrownBy(() -> this.tokenServices.refreshAccessToken(refreshToken, tokenRequest))
+                .isInstanceOf(InvalidGrantException.class);
+    }
+
+    private OAuth2Authentication authentication(String username) {
+        var authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", authorities, true, Set.of("read"),
+                null, null, null, null);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(username, "N/A", authorities));
+    }
+
+    @Test
+    @TestDescription("jwt 모드는 서명 키가 없거나 짧으면 시작하지 않는다")
+    public void jwtModeRequiresSigningKey() {
+        SecurityConfig securityConfig = new SecurityConfig(null, null);
+        AppProperties appProperties = new AppProperties();
+        appProperties.setTokenMode(TokenMode.JWT);
+
+        assertThatThrownBy(() -> securityConfig.tokenStore(appProperties, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class);
+        appProperties.setTokenSigningKey("too-short");
+        assertThatThrownBy(() -> securityConfig.tokenStore(appProperties, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class);
+
+        appProperties.setTokenSigningKey(SIGNING_KEY);
+        assertThat(securityConfig.tokenStore(appProperties, new SimpleMeterRegistry())).isInstanceOf(SignedAccessTokenStore.class);
+    }
+}
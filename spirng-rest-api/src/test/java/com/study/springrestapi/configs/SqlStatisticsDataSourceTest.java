@@ -0,0 +1,82 @@
+package com.study.springrestapi.configs;
+
+import com.study.springrestapi.common.TestDescription;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatisticsDataSourceTest {
+
+    SqlStatisticsDataSource dataSource;
+
+    @Before
+    public void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlStatistics;DB_CLOSE_DELAY=-1");
+        this.dataSource = new SqlStatisticsDataSource(h2);
+        try (Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table item (id int primary key, name varchar(20))");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        SqlStatistics.end();
+        try (Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table item");
+        }
+    }
+
+    @Test
+    @TestDescription("요청 안에서 실행한 문장 수, 행 수를 세고 반복된 SELECT를 N+1로 의심한다")
+    public void recordStatementsAndRows() throws Exception {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try (Connection connection = this.dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("insert into item values (?, ?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "item" + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            for (int i = 0; i < 3; i++) {
+                try (PreparedStatement select = connection.prepareStatement("select name from item where id = ?")) {
+                    select.setInt(1, i);
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        assertThat(resultSet.next()).isTrue();
+                    }
+                }
+            }
+            try (Statement select = connection.createStatement(); ResultSet resultSet = select.executeQuery("select * from item")) {
+                while (resultSet.next()) {
+                    assertThat(resultSet.getString("name")).startsWith("item");
+                }
+            }
+        }
+
+        assertThat(statistics.getStatements()).isEqualTo(5);
+        assertThat(statistics.getRows()).isEqualTo(3 + 3 + 3);
+        assertThat(statistics.getNanos()).isPositive();
+        assertThat(statistics.suspectedNPlusOne(3)).containsExactly("select name from item where id = ?");
+        assertThat(statistics.suspectedNPlusOne(4)).isEmpty();
+    }
+
+    @Test
+    @TestDescription("요청 밖에서는 Statement를 감싸지 않고 아무것도 기록하지 않는다")
+    public void ignoreOutsideRequest() throws Exception {
+        try (Connection connection = this.dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("select count(*) from item")) {
+            assertThat(select.getClass().getName()).doesNotContain("$Proxy");
+        }
+        assertThat(SqlStatistics.current()).isNull();
+    }
+}
@@ -0,0 +1,36 @@
+package com.study.springrestapi.configs;
+
+import com.study.springrestapi.common.TestDescription;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VirtualThreadsTest {
+
+    @Test
+    @TestDescription("JDK 21 이상이면 작업을 이름 붙은 가상 스레드에서 실행하고, 아니면 executor를 만들 때 실패한다")
+    public void newExecutor() throws Exception {
+        if (!VirtualThreads.isSupported()) {
+            assertThat(Runtime.version().feature()).isLessThan(21);
+            assertThatThrownBy(() -> VirtualThreads.newExecutor("test-vt-"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("JDK 21");
+            assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+            return;
+        }
+
+        ExecutorService executor = VirtualThreads.newExecutor("test-vt-");
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+            assertThat(thread.getName()).startsWith("test-vt-");
+            assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.study.springrestapi.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.study.springrestapi.common.AppProperties;
+import com.study.springrestapi.common.BaseControllerTest;
+import com.study.springrestapi.common.TestDescription;
+import com.study.springrestapi.member.AccountRole;
+import com.study.springrestapi.member.Member;
+import com.study.springrestapi.member.MemberRepository;
+import com.study.springrestapi.member.MemberService;
+import org.junit.Before;
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * contract/events.json 의 요청을 보내고 상태 코드, 헤더, 본문을 비교한다.
+ * spring-rest-api-reactive의 EventContractTests가 같은 파일을 읽으므로 두 모듈의 검증 에러, 링크, ETag가 달라지면 한쪽이 깨진다.
+ * 본문은 적힌 프로퍼티만 비교하고 배열(errors)은 순서까지 비교한다. {id}는 given 으로 만든 이벤트나 응답의 id로 바꾼다.
+ * {base}는 요청의 base URI로 바꾼다. (@AutoConfigureRestDocs가 MockMvc 요청을 http://localhost:8080 으로 보낸다)
+ */
+public class EventContractTests extends BaseControllerTest {
+
+    private static final String BASE_URI = "http://localhost:8080";
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    AppProperties appProperties;
+
+    private String accessToken;
+
+    @Before
+    public void setUp() throws Exception {
+        this.eventRepository.deleteAll();
+        this.memberRepository.deleteAll();
+        this.accessToken = getAccessToken();
+    }
+
+    @Test
+    @TestDescription("spring-rest-api-reactive와 같은 요청에 같은 응답을 하는 테스트")
+    public void contract() throws Exception {
+        JsonNode fixture;
+        try (InputStream in = new ClassPathResource("contract/events.json").getInputStream()) {
+            fixture = this.objectMapper.readTree(in);
+        }
+        for (JsonNode contractCase : fixture.get("cases")) {
+            String description = contractCase.get("description").asText();
+            String givenId = contractCase.path("given").asBoolean() ? createEvent(fixture.get("event")) : null;
+            MockHttpServletResponse response = perform(contractCase.get("request"), fixture.get("event"), givenId);
+            String body = response.getContentAsString(StandardCharsets.UTF_8);
+            String id = givenId != null || !body.startsWith("{") ? givenId : this.objectMapper.readTree(body).path("id").asText(null);
+
+            assertThat(response.getStatus()).as(description).isEqualTo(contractCase.get("status").asInt());
+            contractCase.path("headers").fields().forEachRemaining(header ->
+                    assertThat(response.getHeader(header.getKey())).as(description + " " + header.getKey())
+                            .isEqualTo(substitute(header.getValue().asText(), id)));
+            if (contractCase.has("response")) {
+                JSONAssert.assertEquals(description, substitute(contractCase.get("response").toString(), id), body,
+                        JSONCompareMode.STRICT_ORDER);
+            }
+        }
+    }
+
+    private MockHttpServletResponse perform(JsonNode request, JsonNode event, String id) throws Exception {
+        MockHttpServletRequestBuilder builder = request(HttpMethod.valueOf(request.get("method").asText()),
+                substitute(request.get("path").asText(), id))
+                .accept(MediaTypes.HAL_JSON);
+        if (request.path("token").asBoolean()) {
+            builder.header(HttpHeaders.AUTHORIZATION, "Bearer " + this.accessToken);
+        }
+        request.path("headers").fields().forEachRemaining(header -> builder.header(header.getKey(), header.getValue().asText()));
+        if (request.path("body").asBoolean()) {
+            ObjectNode body = event.deepCopy();
+            request.path("fields").fields().forEachRemaining(field -> body.set(field.getKey(), field.getValue()));
+            builder.contentType(MediaType.APPLICATION_JSON).content(body.toString());
+        }
+        return this.mockMvc.perform(builder).andReturn().getResponse();
+    }
+
+    private String createEvent(JsonNode event) throws Exception {
+        MockHttpServletResponse response = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + this.accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(event.toString()))
+                .andReturn().getResponse();
+        return this.objectMapper.readTree(response.getContentAsString(StandardCharsets.UTF_8)).get("id").asText();
+    }
+
+    private static String substitute(String text, String id) {
+        String replaced = text.replace("{base}", BASE_URI);
+        return id == null ? replaced : replaced.replace("\"{id}\"", id).replace("{id}", id);
+    }
+
+    private String getAccessToken() throws Exception {
+        Member member = Member.builder()
+                .email(appProperties.getUserUsername())
+                .password(appProperties.getUserPassword())
+                .roles(Set.of(AccountRole.ADMIN, AccountRole.USER))
+                .build();
+        this.memberService.saveMember(member);
+
+        String responseBody = this.mockMvc.perform(post("/oauth/token")
+                .with(httpBasic(appProperties.getClientId(), appProperties.getClientSecret()))
+                .param("username", appProperties.getUserUsername())
+                .param("password", appProperties.getUserPassword())
+                .param("grant_type", "password"))
+                .andReturn().getResponse().getContentAsString();
+        return new Jackson2JsonParser().parseMap(responseBody).get("access_token").toString();
+    }
+}
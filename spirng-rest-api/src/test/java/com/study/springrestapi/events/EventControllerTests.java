@@ -1,8 +1,13 @@
 package com.study.springrestapi.events;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.study.springrestapi.common.AppProperties;
 import com.study.springrestapi.common.BaseControllerTest;
+import com.study.springrestapi.common.BinaryMediaTypes;
 import com.study.springrestapi.common.TestDescription;
+import com.study.springrestapi.configs.SqlStatisticsFilter;
 import com.study.springrestapi.member.AccountRole;
 import com.study.springrestapi.member.Member;
 import com.study.springrestapi.member.MemberRepository;
@@ -11,16 +16,30 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.common.util.Jackson2JsonParser;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
 import static org.springframework.restdocs.headers.HeaderDocumentation.*;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.linkWithRel;
 import static org.springframework.restdocs.hypermedia.HypermediaDocumentation.links;
@@ -46,10 +65,24 @@ public class EventControllerTests extends BaseControllerTest {
     @Autowired
     AppProperties appProperties;
 
+    @Autowired
+    EventResponseCache eventResponseCache;
+
+    @Autowired
+    EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    EventWindowIndex eventWindowIndex;
+
+    @Autowired
+    EventViewCounter eventViewCounter;
+
     @Before
     public void setUp(){
-        this.memberRepository.deleteAll();
         this.eventRepository.deleteAll();
+        this.memberRepository.deleteAll();
+        this.eventSearchIndex.clear();
+        this.eventWindowIndex.clear();
     }
 
     /**
@@ -268,6 +301,185 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(jsonPath("_links.index").exists());
     }
 
+    @Test
+    @TestDescription("이벤트 여러 개를 한번에 생성하는 테스트")
+    public void createEvents() throws Exception {
+        //Given
+        List<EventDto> eventDtos = IntStream.range(0, 120)
+                .mapToObj(this::generateEventDto)
+                .collect(Collectors.toList());
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(120))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].free").value(false))
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.query-events").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+
+        assertThat(this.eventRepository.count()).isEqualTo(120);
+    }
+
+    @Test
+    @TestDescription("일괄 생성 중 하나라도 잘못된 이벤트가 있으면 몇 번째인지 담아서 400 응답받고 아무것도 저장하지 않는다")
+    public void createEvents_Bad_Request() throws Exception {
+        //Given
+        List<EventDto> eventDtos = IntStream.range(0, 5)
+                .mapToObj(this::generateEventDto)
+                .collect(Collectors.toList());
+        eventDtos.get(1).setName(null);
+        eventDtos.get(3).setBasePrice(20000);
+        eventDtos.get(3).setMaxPrice(10000);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("events[1].name"))
+                .andExpect(jsonPath("errors[1].field").value("events[3].basePrice"))
+                .andExpect(jsonPath("errors[2].field").value("events[3].maxPrice"))
+                .andExpect(jsonPath("errors[3].code").value("wrongPrices"))
+                .andExpect(jsonPath("_links.index").exists());
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @TestDescription("일괄 생성에서 events[1]의 검증이 events[10]의 에러 때문에 건너뛰어지지 않는다")
+    public void createEvents_Bad_Request_Index() throws Exception {
+        //Given
+        List<EventDto> eventDtos = IntStream.range(0, 12)
+                .mapToObj(this::generateEventDto)
+                .collect(Collectors.toList());
+        eventDtos.get(1).setBasePrice(20000);
+        eventDtos.get(1).setMaxPrice(10000);
+        eventDtos.get(10).setName(null);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors.length()").value(4))
+                .andExpect(jsonPath("errors[0].field").value("events[10].name"))
+                .andExpect(jsonPath("errors[1].field").value("events[1].basePrice"))
+                .andExpect(jsonPath("errors[2].field").value("events[1].maxPrice"))
+                .andExpect(jsonPath("errors[3].code").value("wrongPrices"));
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @TestDescription("일괄 생성은 MAX_SIZE를 넘으면 이벤트를 하나씩 검증하지 않고 400 응답받기")
+    public void createEvents_Too_Many() throws Exception {
+        //Given
+        List<EventDto> eventDtos = IntStream.range(0, EventBatchDto.MAX_SIZE + 1)
+                .mapToObj(this::generateEventDto)
+                .collect(Collectors.toList());
+        eventDtos.get(0).setName(null);
+
+        //When & Then
+        this.mockMvc.perform(post("/api/events/batch")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDtos)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors.length()").value(1))
+                .andExpect(jsonPath("errors[0].field").value("events"))
+                .andExpect(jsonPath("errors[0].code").value("Size"))
+                .andExpect(jsonPath("errors[0].rejectedValue").doesNotExist());
+
+        assertThat(this.eventRepository.count()).isZero();
+    }
+
+    @Test
+    @TestDescription("NDJSON으로 이벤트를 가져오면 잘못된 줄만 빼고 저장하고 줄마다 결과를 응답받기")
+    public void importEvents() throws Exception {
+        //Given
+        EventDto wrongPrices = generateEventDto(3);
+        wrongPrices.setBasePrice(20000);
+        wrongPrices.setMaxPrice(10000);
+        String body = String.join("\n",
+                this.objectMapper.writeValueAsString(generateEventDto(0)),
+                this.objectMapper.writeValueAsString(generateEventDto(1)),
+                "",
+                "{\"name\": ",
+                this.objectMapper.writeValueAsString(wrongPrices),
+                this.objectMapper.writeValueAsString(new EventDto()),
+                this.objectMapper.writeValueAsString(generateEventDto(6)));
+        int chunkSize = this.appProperties.getEventImportChunkSize();
+        this.appProperties.setEventImportChunkSize(2);
+
+        //When & Then
+        String response;
+        try {
+            response = this.mockMvc.perform(post("/api/events/import")
+                    .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .accept(MediaType.APPLICATION_NDJSON)
+                    .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        } finally {
+            this.appProperties.setEventImportChunkSize(chunkSize);
+        }
+
+        Jackson2JsonParser parser = new Jackson2JsonParser();
+        List<Map<String, Object>> results = Arrays.stream(response.split("\n"))
+                .map(parser::parseMap)
+                .collect(Collectors.toList());
+        assertThat(results).extracting(r -> r.get("line")).containsExactly(1, 2, 4, 5, 6, 7);
+        assertThat(results).extracting(r -> r.get("status"))
+                .containsExactly("created", "created", "invalid", "invalid", "invalid", "created");
+        assertThat(results.get(0).get("id")).isNotNull();
+        assertThat((List<Map<String, Object>>) results.get(2).get("errors")).extracting(e -> e.get("code")).containsExactly("wrongJson");
+        assertThat((List<Map<String, Object>>) results.get(3).get("errors")).extracting(e -> e.get("code")).contains("wrongPrices");
+        assertThat(this.eventRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @TestDescription("NDJSON 줄이 JSON null 이면 그 줄만 잘못된 줄로 응답하고 앞뒤 줄은 저장하기")
+    public void importEvents_Null_Line() throws Exception {
+        //Given
+        String body = String.join("\n",
+                this.objectMapper.writeValueAsString(generateEventDto(0)),
+                "null",
+                this.objectMapper.writeValueAsString(generateEventDto(2)));
+
+        //When & Then
+        String response = this.mockMvc.perform(post("/api/events/import")
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        Jackson2JsonParser parser = new Jackson2JsonParser();
+        List<Map<String, Object>> results = Arrays.stream(response.split("\n"))
+                .map(parser::parseMap)
+                .collect(Collectors.toList());
+        assertThat(results).extracting(r -> r.get("line")).containsExactly(1, 2, 3);
+        assertThat(results).extracting(r -> r.get("status")).containsExactly("created", "invalid", "created");
+        assertThat((List<Map<String, Object>>) results.get(1).get("errors")).extracting(e -> e.get("code")).containsExactly("wrongJson");
+        assertThat(this.eventRepository.count()).isEqualTo(2);
+    }
+
     @Test
     @TestDescription("30개의 이벤트를 10개씩 두번째 페이지 조회하기")
     public void queryEvents() throws Exception {
@@ -289,6 +501,372 @@ public class EventControllerTests extends BaseControllerTest {
                 .andDo(document("query-events"));
     }
 
+    @Test
+    @TestDescription("manager가 서로 다른 이벤트 목록도 SQL 두 번(목록, count)으로 조회하기")
+    public void queryEventsStatementBudget() throws Exception {
+        //Given
+        IntStream.range(0, 10).forEach(i -> {
+            Member manager = this.memberRepository.save(Member.builder()
+                    .email("manager" + i + "@email.com")
+                    .password("pass")
+                    .roles(Set.of(AccountRole.USER))
+                    .build());
+            Event event = generateEvent(i);
+            event.setManager(manager);
+            this.eventRepository.save(event);
+        });
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatisticsFilter.ROWS_HEADER))
+                .andExpect(header().exists(SqlStatisticsFilter.TIME_HEADER))
+                .andExpect(sqlStatementsAtMost(2))
+                .andExpect(noSuspectedNPlusOne());
+
+        this.mockMvc.perform(get("/api/events?after=&size=5&fields=name,manager"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(1))
+                .andExpect(noSuspectedNPlusOne());
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 커서로 10개씩 끝까지 조회하기")
+    public void queryEventsWithCursor() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        Jackson2JsonParser parser = new Jackson2JsonParser();
+        Set<Object> names = new HashSet<>();
+
+        //When & Then
+        String next = "/api/events?after=&size=10&sort=name,DESC";
+        int pages = 0;
+        while (next != null) {
+            var responseBody = this.mockMvc.perform(get(next))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("page").doesNotExist())
+                    .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                    .andExpect(jsonPath("_links.self").exists())
+                    .andExpect(jsonPath("_links.profile").exists())
+                    .andReturn().getResponse().getContentAsString();
+            Map<String, Object> body = parser.parseMap(responseBody);
+            List<Map<String, Object>> events = (List<Map<String, Object>>) ((Map<String, Object>) body.get("_embedded")).get("eventList");
+            events.forEach(e -> names.add(e.get("name")));
+            Map<String, Object> links = (Map<String, Object>) body.get("_links");
+            next = links.containsKey("next") ? ((Map<String, Object>) links.get("next")).get("href").toString() : null;
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(names).hasSize(30);
+    }
+
+    @Test
+    @TestDescription("상태, 오프라인 여부, 가격 범위, 등록 기간으로 걸러서 조회하기")
+    public void queryEventsWithFilters() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = generateEvent(i);
+            event.setEventStatus(i % 3 == 0 ? EventStatus.PUBLISHED : EventStatus.DRAFT);
+            event.setBasePrice(i * 10);
+            this.eventRepository.save(event);
+        });
+
+        //When & Then
+        // PUBLISHED 이면서 basePrice가 100~200 인 이벤트는 12, 15, 18 세 개
+        this.mockMvc.perform(get("/api/events")
+                .param("eventStatus", "PUBLISHED")
+                .param("offline", "true")
+                .param("priceFrom", "100")
+                .param("priceTo", "200")
+                .param("enrollmentFrom", "2021-04-17T00:00:00")
+                .param("enrollmentTo", "2021-04-30T00:00:00")
+                .param("sort", "basePrice,ASC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(contains("event12", "event15", "event18")));
+
+        this.mockMvc.perform(get("/api/events?after=&size=2&eventStatus=PUBLISHED&priceFrom=100&priceTo=200"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList.length()").value(2))
+                .andExpect(jsonPath("_links.next.href").value(containsString("eventStatus=PUBLISHED")));
+
+        this.mockMvc.perform(get("/api/events")
+                .param("enrollmentFrom", "2021-05-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+    }
+
+    @Test
+    @TestDescription("필터 값이 잘못되었거나 범위가 뒤집힌 경우 400 응답받기")
+    public void queryEventsWithWrongFilters() throws Exception {
+        this.mockMvc.perform(get("/api/events")
+                .param("priceFrom", "300")
+                .param("priceTo", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("priceFrom"));
+
+        this.mockMvc.perform(get("/api/events")
+                .param("eventStatus", "WRONG"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("eventStatus"));
+    }
+
+    @Test
+    @TestDescription("fields로 고른 프로퍼티만 담아서 목록 조회하기")
+    public void queryEventsWithFields() throws Exception {
+        //Given
+        Member manager = this.memberRepository.save(Member.builder()
+                .email("manager@email.com")
+                .password("pass")
+                .roles(Set.of(AccountRole.USER))
+                .build());
+        IntStream.range(0, 30).forEach(i -> {
+            Event event = generateEvent(i);
+            event.setManager(i % 2 == 0 ? manager : null);
+            this.eventRepository.save(event);
+        });
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events")
+                .param("fields", "name,basePrice,manager")
+                .param("sort", "name,DESC")
+                .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("page.totalElements").value(30))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_embedded.eventList[0].id").exists())
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event9"))
+                .andExpect(jsonPath("_embedded.eventList[0].basePrice").value(100))
+                .andExpect(jsonPath("_embedded.eventList[0].description").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList[0].manager").value(nullValue()))
+                .andExpect(jsonPath("_embedded.eventList[1].name").value("event8"))
+                .andExpect(jsonPath("_embedded.eventList[1].manager.email").value("manager@email.com"))
+                .andExpect(jsonPath("_embedded.eventList[1].manager.password").doesNotExist())
+                .andExpect(jsonPath("_embedded.eventList[0]._links.self").exists())
+                .andExpect(jsonPath("_links.next").exists());
+
+        this.mockMvc.perform(get("/api/events?after=&size=2&sort=name,DESC&fields=name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[*].name").value(contains("event9", "event8")))
+                .andExpect(jsonPath("_embedded.eventList[0].basePrice").doesNotExist())
+                .andExpect(jsonPath("_links.next.href").value(containsString("fields=name")));
+
+        this.mockMvc.perform(get("/api/events").param("fields", "name,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongFields"));
+    }
+
+    @Test
+    @TestDescription("잘못된 커서로 조회하면 400 응답받기")
+    public void queryEventsWithWrongCursor() throws Exception {
+        this.mockMvc.perform(get("/api/events").param("after", "wrong-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongCursor"))
+                .andExpect(jsonPath("_links.index").exists());
+    }
+
+    @Test
+    @TestDescription("이름과 설명에 검색어의 모든 단어가 들어있는 이벤트를 점수 순서로 검색하기")
+    public void searchEvents() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        Event springEvent = generateEvent(30);
+        springEvent.setName("Spring Boot Meetup");
+        this.eventRepository.save(springEvent);
+        this.eventSearchIndex.rebuild();
+
+        //When & Then
+        // 이름에 spring이 있는 이벤트가 설명에만 있는 이벤트보다 앞에 온다.
+        this.mockMvc.perform(get("/api/events/search")
+                .param("q", "Spring development")
+                .param("size", "10"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(31))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("Spring Boot Meetup"))
+                .andExpect(jsonPath("_embedded.eventList.length()").value(10))
+                .andExpect(jsonPath("_links.next").exists())
+                .andExpect(jsonPath("_links.profile").exists());
+
+        this.mockMvc.perform(get("/api/events/search").param("q", "event7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event7"));
+
+        this.mockMvc.perform(get("/api/events/search").param("q", "spring nothing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+
+        this.mockMvc.perform(get("/api/events/search").param("q", " ,. "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongQuery"));
+    }
+
+    @Test
+    @TestDescription("이벤트를 생성하거나 수정하면 검색 색인에 바로 반영된다")
+    public void searchEventsAfterCreateAndUpdate() throws Exception {
+        //Given
+        String bearerToken = getBearerToken();
+        EventDto eventDto = generateEventDto(1);
+        eventDto.setName("Kotlin Workshop");
+        var responseBody = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Object id = new Jackson2JsonParser().parseMap(responseBody).get("id");
+
+        this.mockMvc.perform(get("/api/events/search").param("q", "kotlin"))
+                .andExpect(jsonPath("page.totalElements").value(1));
+
+        //When
+        eventDto.setName("Java Workshop");
+        this.mockMvc.perform(put("/api/events/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        //Then
+        this.mockMvc.perform(get("/api/events/search").param("q", "kotlin"))
+                .andExpect(jsonPath("page.totalElements").value(0));
+        this.mockMvc.perform(get("/api/events/search").param("q", "java workshop"))
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(id));
+    }
+
+    @Test
+    @TestDescription("기간이 주어진 시간이나 구간과 겹치는 이벤트 조회하기")
+    public void queryEventWindow() throws Exception {
+        //Given
+        // event{i} 는 4월 20일 + i일 12:30 ~ 4월 21일 + i일 12:00 에 열린다.
+        IntStream.range(0, 10).forEach(i -> {
+            Event event = generateEvent(i);
+            event.setBeginEventDateTime(event.getBeginEventDateTime().plusDays(i));
+            event.setEndEventDateTime(event.getEndEventDateTime().plusDays(i));
+            this.eventRepository.save(event);
+        });
+        this.eventWindowIndex.rebuild();
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/window")
+                .param("on", "EVENT")
+                .param("at", "2021-04-23T12:00:00"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event2"))
+                .andExpect(jsonPath("_links.profile").exists());
+
+        this.mockMvc.perform(get("/api/events/window")
+                .param("on", "EVENT")
+                .param("from", "2021-04-25T00:00:00")
+                .param("to", "2021-04-27T00:00:00")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(3))
+                .andExpect(jsonPath("_embedded.eventList[0].name").value("event4"))
+                .andExpect(jsonPath("_links.next").exists());
+
+        this.mockMvc.perform(get("/api/events/window")
+                .param("on", "EVENT")
+                .param("at", "2021-05-30T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("page.totalElements").value(0));
+
+        this.mockMvc.perform(get("/api/events/window")
+                .param("from", "2021-04-27T00:00:00")
+                .param("to", "2021-04-25T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].code").value("wrongWindow"));
+    }
+
+    @Test
+    @TestDescription("이벤트를 수정하면 기간 색인에 바로 반영된다")
+    public void queryEventWindowAfterUpdate() throws Exception {
+        //Given
+        String bearerToken = getBearerToken();
+        EventDto eventDto = generateEventDto(1);
+        var responseBody = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Object id = new Jackson2JsonParser().parseMap(responseBody).get("id");
+
+        this.mockMvc.perform(get("/api/events/window").param("at", "2021-04-17T18:00:00"))
+                .andExpect(jsonPath("page.totalElements").value(1))
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(id));
+
+        //When
+        eventDto.setBeginEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 0, 0));
+        eventDto.setCloseEnrollmentDateTime(LocalDateTime.of(2021, 4, 19, 0, 0));
+        this.mockMvc.perform(put("/api/events/{id}", id)
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        //Then
+        this.mockMvc.perform(get("/api/events/window").param("at", "2021-04-17T18:00:00"))
+                .andExpect(jsonPath("page.totalElements").value(0));
+        this.mockMvc.perform(get("/api/events/window").param("at", "2021-04-18T18:00:00"))
+                .andExpect(jsonPath("page.totalElements").value(1));
+    }
+
+    @Test
+    @TestDescription("모든 이벤트를 NDJSON으로 내보내기")
+    public void exportEventsAsNdjson() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+
+        //When & Then
+        String body = this.mockMvc.perform(get("/api/events/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.ndjson\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(30);
+        Map<String, Object> first = new Jackson2JsonParser().parseMap(lines[0]);
+        assertThat(first.get("name")).isEqualTo("event0");
+        assertThat(first.get("location")).isEqualTo("서울 광화문");
+        assertThat(first.get("beginEventDateTime")).isEqualTo("2021-04-20T12:30:00");
+        assertThat(first.get("offline")).isEqualTo(true);
+        assertThat(first.get("eventStatus")).isEqualTo("DRAFT");
+        assertThat(first).doesNotContainKeys("_links", "manager");
+    }
+
+    @Test
+    @TestDescription("모든 이벤트를 CSV로 내보내기")
+    public void exportEventsAsCsv() throws Exception {
+        //Given
+        IntStream.range(0, 3).forEach(this::generateEvent);
+        Event event = this.generateEvent(3);
+        event.setName("Spring, \"REST\"");
+        this.eventRepository.save(event);
+
+        //When & Then
+        String body = this.mockMvc.perform(get("/api/events/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).isEqualTo("id,name,description,beginEnrollmentDateTime,closeEnrollmentDateTime,"
+                + "beginEventDateTime,endEventDateTime,location,basePrice,maxPrice,limitOfEnrollment,offline,free,eventStatus");
+        assertThat(lines[1]).endsWith(",event0,REST API Development with Spring,2021-04-18T12:00:00,2021-04-17T12:00:00,"
+                + "2021-04-20T12:30:00,2021-04-21T12:00:00,서울 광화문,100,200,100,true,false,DRAFT");
+        assertThat(lines[4]).contains(",\"Spring, \"\"REST\"\"\",");
+    }
+
     @Test
     @TestDescription("기존의 이벤트를 하나 조회하기")
     public void getEvent() throws Exception {
@@ -300,7 +878,234 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(jsonPath("name").exists())
                 .andExpect(jsonPath("id").exists())
                 .andExpect(jsonPath("_links.self").exists())
-                .andExpect(jsonPath("_links.profile").exists());
+                .andExpect(jsonPath("_links.profile").exists())
+                .andExpect(sqlStatementsAtMost(1));
+    }
+
+    @Test
+    @TestDescription("같은 이벤트를 다시 조회하면 캐시된 응답을 받고, 수정하면 캐시가 무효화된다")
+    public void getEventCached() throws Exception {
+        //Given
+        Event event = this.generateEvent(100);
+        long hits = this.eventResponseCache.stats().hitCount();
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaTypes.HAL_JSON_VALUE))
+                .andExpect(jsonPath("name").value("event100"))
+                .andExpect(jsonPath("_links.self").exists());
+        assertThat(this.eventResponseCache.stats().hitCount()).isEqualTo(hits + 1);
+
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("ChangeEventName");
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("ChangeEventName"));
+    }
+
+    @Test
+    @TestDescription("조회수는 캐시, 304 응답도 세고 flush 할 때만 DB에 더해지며 version, ETag와 수정에는 영향이 없다")
+    public void getEventViewCount() throws Exception {
+        //Given
+        Event event = this.generateEvent(100);
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("viewCount").doesNotExist());
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+        this.mockMvc.perform(get("/api/events/{id}", 555555))
+                .andExpect(status().isNotFound());
+
+        //When
+        assertThat(this.eventRepository.findById(event.getId()).get().getViewCount()).isEqualTo(0);
+        assertThat(this.eventViewCounter.pending(event.getId())).isEqualTo(3);
+        assertThat(this.eventViewCounter.pending(555555)).isEqualTo(0);
+        this.mockMvc.perform(get("/api/events/{id}/views", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("id").value(event.getId()))
+                .andExpect(jsonPath("viewCount").value(3))
+                .andExpect(jsonPath("_links.self.href").value(endsWith("/api/events/" + event.getId() + "/views")))
+                .andExpect(jsonPath("_links.event.href").value(endsWith("/api/events/" + event.getId())));
+        this.mockMvc.perform(get("/api/events/{id}/views", 555555))
+                .andExpect(status().isNotFound());
+        this.eventViewCounter.flush();
+
+        //Then
+        Event viewedEvent = this.eventRepository.findById(event.getId()).get();
+        assertThat(viewedEvent.getViewCount()).isEqualTo(3);
+        assertThat(viewedEvent.getVersion()).isEqualTo(0);
+        assertThat(this.eventViewCounter.pending(event.getId())).isEqualTo(0);
+
+        // 조회수를 모르는 이전 Event로 수정해도 조회수를 덮어쓰지 않는다.
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("ChangeEventName");
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("name").value("ChangeEventName"));
+        this.mockMvc.perform(get("/api/events/{id}/views", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("viewCount").value(4));
+        this.generateEvent(101);
+        this.mockMvc.perform(get("/api/events").param("sort", "viewCount,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("_embedded.eventList[0].id").value(event.getId()))
+                .andExpect(jsonPath("_embedded.eventList[0].viewCount").doesNotExist());
+    }
+
+    @Test
+    @TestDescription("ETag가 같은 이벤트를 다시 조회하면 본문 없이 304 응답받기")
+    public void getEventNotModified() throws Exception {
+        //Given
+        Event event = this.generateEvent(100);
+        String eTag = this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        this.eventResponseCache.invalidate(event.getId());
+        this.mockMvc.perform(get("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @TestDescription("목록이 바뀌지 않았으면 304, 이벤트가 수정되면 200 응답받기")
+    public void queryEventsNotModified() throws Exception {
+        //Given
+        IntStream.range(0, 30).forEach(this::generateEvent);
+        String eTag = this.mockMvc.perform(get("/api/events").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //When & Then
+        this.mockMvc.perform(get("/api/events").param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Event first = this.eventRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+        first.setName("ChangeEventName");
+        this.eventRepository.save(first);
+        this.mockMvc.perform(get("/api/events").param("size", "10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
+    @Test
+    @TestDescription("Accept가 CBOR, Smile이면 JSON과 같은 HAL 구조를 바이너리로 응답받기")
+    public void getEventAsBinary() throws Exception {
+        //Given
+        Event event = this.generateEvent(100);
+        JsonNode json = this.objectMapper.readTree(this.mockMvc.perform(get("/api/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        //When & Then
+        byte[] cbor = this.mockMvc.perform(get("/api/events/{id}", event.getId()).accept(BinaryMediaTypes.CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, BinaryMediaTypes.CBOR_VALUE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-cbor\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new CBORMapper().readTree(cbor)).isEqualTo(json);
+        // 형식마다 ETag가 다르므로 JSON으로 받은 ETag로는 CBOR 본문을 304로 재사용하지 않는다.
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()).accept(BinaryMediaTypes.CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk());
+        this.mockMvc.perform(get("/api/events/{id}", event.getId()).accept(BinaryMediaTypes.CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        assertThat(cbor.length).isLessThan(json.toString().getBytes(StandardCharsets.UTF_8).length);
+
+        byte[] smile = this.mockMvc.perform(get("/api/events/{id}", event.getId()).accept(BinaryMediaTypes.SMILE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, BinaryMediaTypes.SMILE_VALUE))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-smile\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new SmileMapper().readTree(smile)).isEqualTo(json);
+
+        IntStream.range(0, 5).forEach(this::generateEvent);
+        byte[] page = this.mockMvc.perform(get("/api/events").param("size", "3").accept(BinaryMediaTypes.SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode pageNode = new SmileMapper().readTree(page);
+        assertThat(pageNode.at("/_embedded/eventList")).hasSize(3);
+        assertThat(pageNode.at("/page/totalElements").asInt()).isEqualTo(6);
+        assertThat(pageNode.at("/_links/next/href").asText()).contains("page=1");
+    }
+
+    @Test
+    @TestDescription("CBOR로 이벤트를 생성하고, 잘못된 입력은 같은 에러 형식으로 응답받기")
+    public void createEventAsCbor() throws Exception {
+        EventDto eventDto = EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 04, 17, 12, 00))
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 04, 18, 12, 00))
+                .beginEventDateTime(LocalDateTime.of(2021, 04, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 04, 21, 12, 00))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("서울 광화문")
+                .build();
+        CBORMapper cborMapper = new CBORMapper();
+        String bearerToken = getBearerToken();
+
+        byte[] created = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(BinaryMediaTypes.CBOR)
+                .accept(BinaryMediaTypes.CBOR)
+                .content(cborMapper.writeValueAsBytes(this.objectMapper.valueToTree(eventDto))))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode event = cborMapper.readTree(created);
+        assertThat(event.at("/name").asText()).isEqualTo("Spring");
+        assertThat(event.at("/beginEventDateTime").asText()).isEqualTo("2021-04-20T12:30:00");
+        assertThat(event.at("/_links/update-events/href").asText()).endsWith("/api/events/" + event.at("/id").asInt());
+
+        eventDto.setBasePrice(1000);
+        byte[] errors = this.mockMvc.perform(post("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(BinaryMediaTypes.CBOR)
+                .accept(BinaryMediaTypes.CBOR)
+                .content(cborMapper.writeValueAsBytes(this.objectMapper.valueToTree(eventDto))))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode error = cborMapper.readTree(errors);
+        assertThat(error.at("/errors/0/objectName").asText()).isEqualTo("eventDto");
+        assertThat(error.at("/errors/0/code").isTextual()).isTrue();
+        assertThat(error.at("/_links/index/href").isTextual()).isTrue();
     }
 
     @Test
@@ -331,6 +1136,47 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(jsonPath("_links.self").exists());
     }
 
+    @Test
+    @TestDescription("If-Match가 현재 ETag와 다르면 412, 같으면 수정하고 새 ETag 응답받기")
+    public void updateEventIfMatch() throws Exception {
+        //Given
+        Event event = this.generateEvent(200);
+        EventDto eventDto = this.modelMapper.map(event, EventDto.class);
+        eventDto.setName("ChangeEventName");
+        String bearerToken = getBearerToken();
+
+        //When & Then
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, "\"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("name").value("ChangeEventName"));
+
+        // CBOR로 받은 ETag도 같은 version이면 일치한다.
+        eventDto.setName("ChangeEventNameAgain");
+        this.mockMvc.perform(put("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, "\"1-cbor\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(BinaryMediaTypes.CBOR)
+                .content(this.objectMapper.writeValueAsString(eventDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-cbor\""));
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getVersion()).isEqualTo(2);
+    }
+
     @Test
     @TestDescription("입력값이 비어있는 경우에 이벤트 수정 실패")
     public void updateEvent400Empty() throws Exception {
@@ -381,6 +1227,110 @@ public class EventControllerTests extends BaseControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @TestDescription("보낸 값만 바꾸고 free, offline을 다시 계산해서 UPDATE 하나로 부분 수정하기")
+    public void patchEvent() throws Exception {
+        //Given
+        Event event = this.generateEvent(200);
+        EventPatchDto eventPatchDto = EventPatchDto.builder()
+                .basePrice(0)
+                .maxPrice(0)
+                .location("")
+                .build();
+
+        //When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, getBearerToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventPatchDto)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(sqlStatementsAtMost(2))
+                .andExpect(jsonPath("name").value("event200"))
+                .andExpect(jsonPath("free").value(true))
+                .andExpect(jsonPath("offline").value(false))
+                .andExpect(jsonPath("_links.self").exists());
+
+        Event patchedEvent = this.eventRepository.findById(event.getId()).get();
+        assertThat(patchedEvent.getVersion()).isEqualTo(1);
+        assertThat(patchedEvent.getName()).isEqualTo("event200");
+        assertThat(patchedEvent.getLocation()).isNull();
+        assertThat(patchedEvent.isFree()).isTrue();
+        assertThat(patchedEvent.isOffline()).isFalse();
+    }
+
+    @Test
+    @TestDescription("바뀐 값이 없는 부분 수정은 쓰지 않고 같은 ETag를 응답받고, If-Match가 다르면 412 응답받기")
+    public void patchEventWithoutChanges() throws Exception {
+        //Given
+        Event event = this.generateEvent(200);
+        EventPatchDto eventPatchDto = EventPatchDto.builder()
+                .name("event200")
+                .basePrice(100)
+                .build();
+        String bearerToken = getBearerToken();
+
+        //When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(eventPatchDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(sqlStatementsAtMost(1));
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .header(HttpHeaders.IF_MATCH, "\"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(EventPatchDto.builder().name("ChangeEventName").build())))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getVersion()).isEqualTo(0);
+    }
+
+    @Test
+    @TestDescription("부분 수정한 결과가 잘못된 경우에 이벤트 수정 실패")
+    public void patchEvent400() throws Exception {
+        //Given
+        Event event = this.generateEvent(200);
+        String bearerToken = getBearerToken();
+
+        //When & Then
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(EventPatchDto.builder().name("").build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("name"));
+
+        this.mockMvc.perform(patch("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(EventPatchDto.builder().basePrice(500).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors[0].field").value("basePrice"));
+
+        assertThat(this.eventRepository.findById(event.getId()).get().getVersion()).isEqualTo(0);
+    }
+
+    private EventDto generateEventDto(int index) {
+        return EventDto.builder()
+                .name("event" + index)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 04, 17, 12, 00))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 04, 18, 12, 00))
+                .beginEventDateTime(LocalDateTime.of(2021, 04, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 04, 21, 12, 00))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("서울 광화문")
+                .build();
+    }
+
     private Event generateEvent(int index) {
         Event event = Event.builder()
                 .name("event" + index)
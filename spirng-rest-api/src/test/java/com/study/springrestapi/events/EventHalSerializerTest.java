@@ -0,0 +1,117 @@
+package com.study.springrestapi.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.study.springrestapi.common.TestDescription;
+import com.study.springrestapi.member.AccountRole;
+import com.study.springrestapi.member.Member;
+import org.junit.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.hateoas.server.core.DelegatingLinkRelationProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventHalSerializerTest {
+
+    ObjectMapper halMapper = halMapper();
+
+    ObjectMapper eventMapper = halMapper().registerModule(new SimpleModule()
+            .addSerializer(EventResource.class, new EventHalSerializer.Resource())
+            .addSerializer(EventPagedModel.class, new EventHalSerializer.Page()));
+
+    @Test
+    @TestDescription("EventResource를 기본 HAL 직렬화와 같은 JSON으로 쓴다")
+    public void resource() throws Exception {
+        EventResource resource = new EventResource(event(1, LocalDateTime.of(2021, 4, 18, 12, 0, 5, 120_000_000)));
+        resource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+        resource.add(Link.of("/api/events{?page}").withRel("query-events"));
+
+        assertSameJson(resource);
+        assertThat(eventMapper.writeValueAsString(resource))
+                .contains("\"beginEnrollmentDateTime\":\"2021-04-18T12:00:05.12\"")
+                .contains("\"closeEnrollmentDateTime\":\"2021-04-17T12:00:00\"")
+                .contains("\"manager\":{\"id\":3,\"email\":\"manager@email.com\"}")
+                .doesNotContain("password", "roles");
+    }
+
+    @Test
+    @TestDescription("null 필드와 manager가 없는 Event, 같은 rel 링크가 여럿인 경우도 같은 JSON으로 쓴다")
+    public void resourceWithNulls() throws Exception {
+        EventResource resource = new EventResource(Event.builder().id(2).name("empty").build());
+        resource.add(Link.of("/a").withRel("item"), Link.of("/b").withRel("item"));
+
+        assertSameJson(resource);
+    }
+
+    @Test
+    @TestDescription("Event 목록 페이지를 기본 HAL 직렬화와 같은 JSON으로 쓴다")
+    public void page() throws Exception {
+        PagedModel<EventResource> page = PagedModel.of(
+                List.of(new EventResource(event(1, LocalDateTime.of(2021, 4, 18, 12, 0))),
+                        new EventResource(event(2, LocalDateTime.of(9999, 12, 31, 23, 59, 59, 1)))),
+                new PagedModel.PageMetadata(2, 1, 5),
+                Link.of("/api/events?page=1&size=2").withSelfRel(),
+                Link.of("/api/events?page=2&size=2").withRel("next"));
+
+        assertSameJson(new EventPagedModel(page));
+        assertSameJson(new EventPagedModel(PagedModel.of(List.of(), new PagedModel.PageMetadata(2, 0, 0),
+                Link.of("/api/events?page=0&size=2").withSelfRel())));
+    }
+
+    private void assertSameJson(Object model) throws Exception {
+        assertThat(eventMapper.writeValueAsString(model)).isEqualTo(halMapper.writeValueAsString(model));
+    }
+
+    /**
+     * manager는 EventHalSerializer처럼 id, email만 쓰도록 password, roles를 뺀다.
+     */
+    private static ObjectMapper halMapper() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule())
+                .addMixIn(Member.class, ManagerMixin.class)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DelegatingLinkRelationProvider(new AnnotationLinkRelationProvider(), new DefaultLinkRelationProvider()),
+                CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return mapper;
+    }
+
+    private static Event event(int id, LocalDateTime beginEnrollmentDateTime) {
+        return Event.builder()
+                .id(id)
+                .name("event \"" + id + "\"")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(beginEnrollmentDateTime)
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 4, 17, 12, 0))
+                .beginEventDateTime(LocalDateTime.of(2021, 4, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 4, 21, 12, 0))
+                .location("서울 광화문")
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .manager(Member.builder().id(3).email("manager@email.com").password("{noop}pass")
+                        .roles(Set.of(AccountRole.USER)).build())
+                .version(4)
+                .build();
+    }
+
+    @JsonIgnoreProperties({"password", "roles"})
+    interface ManagerMixin {
+    }
+}
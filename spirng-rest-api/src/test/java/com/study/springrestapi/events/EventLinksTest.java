@@ -0,0 +1,44 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.TestDescription;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+public class EventLinksTest {
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @TestDescription("linkTo(EventController.class)로 만든 링크와 같은 링크를 만든다")
+    public void sameAsLinkTo() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/events");
+        request.setScheme("https");
+        request.setServerName("events.example.com");
+        request.setServerPort(8443);
+        request.setContextPath("/app");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        assertThat(EventLinks.self(7)).isEqualTo(linkTo(EventController.class).slash(7).withSelfRel());
+        assertThat(EventLinks.item(7, LinkRelation.of("update-events")))
+                .isEqualTo(linkTo(EventController.class).slash(7).withRel("update-events"));
+        assertThat(EventLinks.collection("query-events"))
+                .isEqualTo(linkTo(EventController.class).withRel("query-events"));
+        assertThat(EventLinks.self(7).getHref()).isEqualTo("https://events.example.com:8443/app/api/events/7");
+    }
+
+    @Test
+    @TestDescription("요청 밖에서는 상대 경로 링크를 만든다")
+    public void withoutRequest() {
+        assertThat(EventLinks.self(7).getHref()).isEqualTo("/api/events/7");
+    }
+}
@@ -0,0 +1,76 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.TestDescription;
+import org.junit.Test;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventMapperTest {
+
+    EventMapper generated = Mappers.getMapper(GeneratedEventMapper.class);
+
+    EventMapper modelMapper = new ModelMapperEventMapper(new ModelMapper());
+
+    @Test
+    @TestDescription("생성된 매퍼로 새 Event를 만들면 ModelMapper와 같은 값이 나온다")
+    public void toEvent() {
+        EventDto eventDto = eventDto("서울 광화문");
+
+        Event expected = modelMapper.toEvent(eventDto);
+        Event actual = generated.toEvent(eventDto);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getEventStatus()).isEqualTo(EventStatus.DRAFT);
+        assertThat(actual.getId()).isNull();
+    }
+
+    @Test
+    @TestDescription("기존 Event에 덮어쓸 때도 ModelMapper와 같은 값이 나온다")
+    public void updateEvent() {
+        EventDto eventDto = eventDto(null);
+        eventDto.setName("changed");
+
+        Event expected = existingEvent();
+        modelMapper.updateEvent(eventDto, expected);
+        Event actual = existingEvent();
+        generated.updateEvent(eventDto, actual);
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getId()).isEqualTo(10);
+        assertThat(actual.getName()).isEqualTo("changed");
+        assertThat(actual.getEventStatus()).isEqualTo(EventStatus.PUBLISHED);
+    }
+
+    private Event existingEvent() {
+        return Event.builder()
+                .id(10)
+                .name("event")
+                .description("before")
+                .location("강남")
+                .basePrice(0)
+                .maxPrice(0)
+                .free(true)
+                .offline(true)
+                .eventStatus(EventStatus.PUBLISHED)
+                .build();
+    }
+
+    private EventDto eventDto(String location) {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 4, 17, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 12, 0))
+                .beginEventDateTime(LocalDateTime.of(2021, 4, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 4, 21, 12, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location(location)
+                .build();
+    }
+}
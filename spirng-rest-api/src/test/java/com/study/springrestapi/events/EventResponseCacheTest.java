@@ -0,0 +1,71 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.AppProperties;
+import com.study.springrestapi.common.TestDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.hateoas.MediaTypes;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventResponseCacheTest {
+
+    private static final String BASE_URI = "http://localhost";
+
+    private final EventResponseCache eventResponseCache = new EventResponseCache(new AppProperties(), new SimpleMeterRegistry());
+
+    @Test
+    @TestDescription("수정 전에 읽은 조회가 수정(무효화) 뒤에 put 해도 이전 본문이 캐시에 들어가지 않는다")
+    public void stalePutAfterUpdate() {
+        // 조회: version 0을 읽고 렌더링하는 중에
+        byte[] staleBody = body("v0");
+        // 수정: version 1로 저장하고 무효화
+        this.eventResponseCache.invalidate(1, 1);
+        // 조회가 끝나서 version 0을 넣는다
+        EventResponseCache.CachedResponse response = put(0, staleBody);
+
+        assertThat(response.getBody(MediaTypes.HAL_JSON)).isEqualTo(staleBody);
+        assertThat(this.eventResponseCache.get(1, BASE_URI, MediaTypes.HAL_JSON)).isNull();
+
+        put(1, body("v1"));
+        assertThat(this.eventResponseCache.get(1, BASE_URI, MediaTypes.HAL_JSON).getETag(MediaTypes.HAL_JSON)).isEqualTo("\"1\"");
+    }
+
+    @Test
+    @TestDescription("더 새로운 version이 캐시에 있으면 오래된 version으로 바꾸지 않는다")
+    public void olderPutDoesNotReplaceNewer() {
+        put(2, body("v2"));
+        put(1, body("v1"));
+
+        EventResponseCache.CachedResponse cached = this.eventResponseCache.get(1, BASE_URI, MediaTypes.HAL_JSON);
+        assertThat(cached.getETag(MediaTypes.HAL_JSON)).isEqualTo("\"2\"");
+        assertThat(cached.getBody(MediaTypes.HAL_JSON)).isEqualTo(body("v2"));
+
+        put(3, body("v3"));
+        assertThat(this.eventResponseCache.get(1, BASE_URI, MediaTypes.HAL_JSON).getETag(MediaTypes.HAL_JSON)).isEqualTo("\"3\"");
+    }
+
+    @Test
+    @TestDescription("수정으로 남긴 version 하한도 캐시 최대 개수를 넘지 않는다")
+    public void versionFloorsAreBounded() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.setEventCacheMaximumSize(10);
+        EventResponseCache eventResponseCache = new EventResponseCache(appProperties, new SimpleMeterRegistry());
+
+        for (int id = 1; id <= 100; id++) {
+            eventResponseCache.invalidate(id, 1);
+        }
+
+        assertThat(eventResponseCache.versionFloorCount()).isLessThanOrEqualTo(10);
+    }
+
+    private EventResponseCache.CachedResponse put(int version, byte[] body) {
+        return this.eventResponseCache.put(1, BASE_URI, version, MediaTypes.HAL_JSON, body);
+    }
+
+    private static byte[] body(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,125 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.TestDescription;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EventViewCounterTest {
+
+    @Test
+    @TestDescription("여러 스레드가 기록하는 동안 flush를 반복해도 조회수를 잃거나 두번 더하지 않는다")
+    public void flushWhileRecording() throws Exception {
+        Map<Integer, Long> written = new ConcurrentHashMap<>();
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.addViewCounts(anyMap())).thenAnswer(invocation -> {
+            Map<Integer, Long> viewCounts = invocation.getArgument(0);
+            viewCounts.forEach((id, count) -> written.merge(id, count, Long::sum));
+            return Set.of();
+        });
+        EventViewCounter counter = new EventViewCounter(eventRepository, new SimpleMeterRegistry());
+
+        int threads = 8;
+        int views = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean recording = new AtomicBoolean(true);
+        try {
+            Future<?> flusher = executor.submit(() -> {
+                start.await();
+                while (recording.get()) {
+                    counter.flush();
+                }
+                return null;
+            });
+            Future<?>[] recorders = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                recorders[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < views; i++) {
+                        counter.record(i % 4);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+            recording.set(false);
+            flusher.get();
+        } finally {
+            executor.shutdown();
+        }
+        counter.shutdown();
+
+        assertThat(written).containsOnlyKeys(0, 1, 2, 3);
+        assertThat(written.values()).allMatch(count -> count == threads * views / 4);
+        assertThat(counter.pending(0)).isEqualTo(0);
+    }
+
+    @Test
+    @TestDescription("늘어난 조회수가 없으면 쓰지 않고, 지워진 이벤트의 조회수는 버린다")
+    public void flushSkipsIdleAndDropsMissing() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.addViewCounts(anyMap())).thenReturn(Set.of(2));
+        EventViewCounter counter = new EventViewCounter(eventRepository, new SimpleMeterRegistry());
+
+        counter.flush();
+        verify(eventRepository, never()).addViewCounts(anyMap());
+
+        counter.record(1);
+        counter.record(2);
+        counter.record(2);
+        assertThat(counter.pending(2)).isEqualTo(2);
+        counter.flush();
+
+        verify(eventRepository).addViewCounts(Map.of(1, 1L, 2, 2L));
+        assertThat(counter.pending(1)).isEqualTo(0);
+        assertThat(counter.pending(2)).isEqualTo(0);
+    }
+
+    @Test
+    @TestDescription("늘어난 조회수가 없는 이벤트의 항목은 flush 할 때 빼고, 다시 조회되면 새로 센다")
+    public void flushRemovesIdleEntries() {
+        Map<Integer, Long> written = new ConcurrentHashMap<>();
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.addViewCounts(anyMap())).thenAnswer(invocation -> {
+            Map<Integer, Long> viewCounts = invocation.getArgument(0);
+            viewCounts.forEach((id, count) -> written.merge(id, count, Long::sum));
+            return Set.of();
+        });
+        EventViewCounter counter = new EventViewCounter(eventRepository, new SimpleMeterRegistry());
+
+        counter.record(1);
+        counter.record(2);
+        counter.flush();
+        assertThat(counter.size()).isEqualTo(2);
+
+        counter.record(2);
+        counter.flush();
+        assertThat(counter.size()).isEqualTo(1);
+
+        counter.flush();
+        assertThat(counter.size()).isEqualTo(0);
+
+        counter.record(1);
+        counter.flush();
+        assertThat(written).containsEntry(1, 2L).containsEntry(2, 2L);
+    }
+}
@@ -0,0 +1,72 @@
+package com.study.springrestapi.events;
+
+import com.study.springrestapi.common.TestDescription;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntervalTreeTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2021, 4, 1, 0, 0);
+
+    @Test
+    @TestDescription("추가/삭제를 섞어도 겹치는 구간을 전부 찾은 결과와 같다")
+    public void overlappingMatchesFullScan() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, LocalDateTime[]> intervals = new HashMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            int id = random.nextInt(500);
+            LocalDateTime[] previous = intervals.remove(id);
+            if (previous != null) {
+                tree.remove(id, previous[0]);
+            }
+            if (random.nextInt(4) > 0) {
+                LocalDateTime begin = BASE.plusHours(random.nextInt(1000));
+                LocalDateTime end = begin.plusHours(random.nextInt(100));
+                tree.add(id, begin, end);
+                intervals.put(id, new LocalDateTime[]{begin, end});
+            }
+
+            LocalDateTime from = BASE.plusHours(random.nextInt(1100));
+            LocalDateTime to = from.plusHours(random.nextInt(50));
+            List<Integer> found = new ArrayList<>();
+            tree.overlapping(from, to, found);
+            List<Integer> expected = intervals.entrySet().stream()
+                    .filter(e -> !e.getValue()[0].isAfter(to) && !e.getValue()[1].isBefore(from))
+                    .sorted((a, b) -> {
+                        int compare = a.getValue()[0].compareTo(b.getValue()[0]);
+                        return compare != 0 ? compare : a.getKey().compareTo(b.getKey());
+                    })
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            assertThat(found).isEqualTo(expected);
+            assertThat(tree.size()).isEqualTo(intervals.size());
+        }
+    }
+
+    @Test
+    @TestDescription("양 끝 시간도 겹치는 것으로 본다")
+    public void boundsAreInclusive() {
+        IntervalTree tree = new IntervalTree();
+        tree.add(1, BASE, BASE.plusHours(1));
+
+        List<Integer> found = new ArrayList<>();
+        tree.overlapping(BASE.plusHours(1), BASE.plusHours(2), found);
+        tree.overlapping(BASE.minusHours(1), BASE, found);
+        assertThat(found).containsExactly(1, 1);
+
+        found.clear();
+        tree.overlapping(BASE.plusHours(1).plusSeconds(1), BASE.plusHours(2), found);
+        assertThat(found).isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.springrestapi.member;
+
+import com.study.springrestapi.common.TestDescription;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AccountRolesTest {
+
+    AccountRolesConverter converter = new AccountRolesConverter();
+
+    @Test
+    @TestDescription("역할 Set과 비트마스크를 서로 변환한다")
+    public void convert() {
+        assertThat(converter.convertToDatabaseColumn(Set.of(AccountRole.ADMIN, AccountRole.USER))).isEqualTo(3);
+        assertThat(converter.convertToDatabaseColumn(Set.of(AccountRole.USER))).isEqualTo(2);
+        assertThat(converter.convertToDatabaseColumn(null)).isZero();
+
+        assertThat(converter.convertToEntityAttribute(3)).containsExactlyInAnyOrder(AccountRole.ADMIN, AccountRole.USER);
+        assertThat(converter.convertToEntityAttribute(1)).containsExactly(AccountRole.ADMIN);
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(8)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @TestDescription("같은 역할 조합은 같은 역할 Set, 권한 Set 인스턴스를 공유한다")
+    public void flyweight() {
+        Set<AccountRole> roles = converter.convertToEntityAttribute(3);
+
+        assertThat(converter.convertToEntityAttribute(3)).isSameAs(roles);
+        assertThat(AccountRoles.authorities(EnumSet.of(AccountRole.USER, AccountRole.ADMIN)))
+                .isSameAs(AccountRoles.authorities(roles))
+                .extracting("authority").containsExactlyInAnyOrder("ROLEADMIN", "ROLEUSER");
+        assertThatThrownBy(() -> roles.add(AccountRole.USER)).isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -1,5 +1,6 @@
 package com.study.springrestapi.member;
 
+import com.study.springrestapi.common.TestDescription;
 import org.hamcrest.Matchers;
 import org.junit.Rule;
 import org.junit.Test;
@@ -7,6 +8,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -54,6 +56,34 @@ public class MemberServiceTest {
         assertThat(this.passwordEncoderl.matches(password,userDetails.getPassword())).isTrue();
     }
 
+    @Test
+    @TestDescription("두번째 조회부터는 캐시에서 가져오고 saveMember를 하면 다시 DB에서 읽는다")
+    public void loadUserByUsernameCached() {
+        //Given
+        String username = "cached@gmail.com";
+        Member member = Member.builder()
+                .email(username)
+                .password("before")
+                .roles(Set.of(AccountRole.USER))
+                .build();
+        this.memberService.saveMember(member);
+        this.memberService.loadUserByUsername(username);
+        long hitCount = this.memberService.stats().hitCount();
+
+        //When
+        UserDetails userDetails = this.memberService.loadUserByUsername(username);
+        // 인증이 끝나면 비밀번호가 지워진다.
+        ((CredentialsContainer) userDetails).eraseCredentials();
+
+        //Then
+        assertThat(this.memberService.stats().hitCount()).isEqualTo(hitCount + 1);
+        assertThat(this.passwordEncoderl.matches("before", this.memberService.loadUserByUsername(username).getPassword())).isTrue();
+
+        member.setPassword("after");
+        this.memberService.saveMember(member);
+        assertThat(this.passwordEncoderl.matches("after", this.memberService.loadUserByUsername(username).getPassword())).isTrue();
+    }
+
     @Test(expected = UsernameNotFoundException.class)
     public void findByUsernameFail() {
         String username = "random@gmail.com";
@@ -0,0 +1,98 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.SpringRestApiApplication;
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventDto;
+import com.study.springrestapi.events.EventRepository;
+import com.study.springrestapi.events.EventStatus;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+/**
+ * fork 하나당 한번 H2(bench 프로파일)로 애플리케이션 컨텍스트를 띄운다.
+ * 조회용 이벤트는 SEED_EVENTS 개 만큼 미리 저장해둔다.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    public static final int SEED_EVENTS = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private Integer firstEventId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        this.context = new SpringApplicationBuilder(SpringRestApiApplication.class)
+                .profiles("bench")
+                .run();
+        EventRepository eventRepository = getBean(EventRepository.class);
+        this.firstEventId = IntStream.range(0, SEED_EVENTS)
+                .mapToObj(i -> eventRepository.save(event(i)))
+                .map(Event::getId)
+                .min(Integer::compareTo)
+                .orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        this.context.close();
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return this.context.getBean(type);
+    }
+
+    public <T> T getBean(String name, Class<T> type) {
+        return this.context.getBean(name, type);
+    }
+
+    public Integer getFirstEventId() {
+        return firstEventId;
+    }
+
+    public static EventDto eventDto(int index) {
+        return EventDto.builder()
+                .name("event" + index)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 4, 17, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 12, 0))
+                .beginEventDateTime(LocalDateTime.of(2021, 4, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 4, 21, 12, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("서울 광화문")
+                .build();
+    }
+
+    public static Event event(int index) {
+        Event event = Event.builder()
+                .name("event" + index)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 4, 17, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 12, 0))
+                .beginEventDateTime(LocalDateTime.of(2021, 4, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 4, 21, 12, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("서울 광화문")
+                .eventStatus(EventStatus.DRAFT)
+                .build();
+        event.update();
+        return event;
+    }
+}
@@ -0,0 +1,27 @@
+package com.study.springrestapi.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * java -jar target/benchmarks.jar [JMH 옵션]
+ * 기본으로 GC 프로파일러(gc.alloc.rate.norm = op당 할당 바이트)를 붙이고
+ * 결과를 target/jmh-result.json 으로 남긴다. 커맨드라인 옵션이 있으면 그 값이 우선한다.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLineOptions.getResult().orElse("target/jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
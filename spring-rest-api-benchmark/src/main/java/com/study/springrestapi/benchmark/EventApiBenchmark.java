@@ -0,0 +1,96 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.EventRepository;
+import com.study.springrestapi.events.EventResponseCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.Filter;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 보안 필터 체인 -> DispatcherServlet -> HAL 직렬화까지 한 요청 전체를 측정한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventApiBenchmark {
+
+    private MockMvc mockMvc;
+
+    private EventResponseCache eventResponseCache;
+
+    private Integer eventId;
+
+    private String eventETag;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) application.getContext())
+                .addFilters(application.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+        this.eventResponseCache = application.getBean(EventResponseCache.class);
+        this.eventId = application.getFirstEventId();
+        this.eventETag = "\"" + application.getBean(EventRepository.class).findById(this.eventId).orElseThrow().getVersion() + "\"";
+    }
+
+    @Benchmark
+    public MockHttpServletResponse getEvent() throws Exception {
+        return this.mockMvc.perform(get("/api/events/{id}", this.eventId)
+                .accept(MediaTypes.HAL_JSON))
+                .andReturn()
+                .getResponse();
+    }
+
+    /**
+     * 응답 캐시를 매번 비워서 findById -> EventResource -> HAL 직렬화 경로를 측정한다.
+     */
+    @Benchmark
+    public MockHttpServletResponse getEventUncached() throws Exception {
+        this.eventResponseCache.invalidate(this.eventId);
+        return getEvent();
+    }
+
+    /**
+     * 폴링 클라이언트처럼 If-None-Match를 보내서 304를 받는 경로를 측정한다.
+     */
+    @Benchmark
+    public MockHttpServletResponse getEventNotModified() throws Exception {
+        return this.mockMvc.perform(get("/api/events/{id}", this.eventId)
+                .header(HttpHeaders.IF_NONE_MATCH, this.eventETag)
+                .accept(MediaTypes.HAL_JSON))
+                .andReturn()
+                .getResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse queryEvent() throws Exception {
+        return this.mockMvc.perform(get("/api/events")
+                .param("page", "1")
+                .param("size", "20")
+                .param("sort", "name,DESC")
+                .accept(MediaTypes.HAL_JSON))
+                .andReturn()
+                .getResponse();
+    }
+}
@@ -0,0 +1,109 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventDto;
+import com.study.springrestapi.events.EventPagedModel;
+import com.study.springrestapi.events.EventResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 HAL 구조를 JSON, CBOR, Smile로 쓰고 읽는 비용을 비교한다.
+ * - writePage: 100개짜리 목록 페이지 (GET /api/events 응답)
+ * - readEventDto: 요청 본문 하나 (POST /api/events)
+ * 형식별 본문 크기는 setUp에서 한 번 출력한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBinaryFormatBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"application/hal+json", "application/cbor", "application/x-jackson-smile"})
+    public String mediaType;
+
+    private HalWriter halWriter;
+
+    private GenericHttpMessageConverter<Object> reader;
+
+    private MediaType contentType;
+
+    private MediaType requestType;
+
+    private EventPagedModel page;
+
+    private byte[] eventDtoBody;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(ApplicationState application) throws IOException {
+        RequestMappingHandlerAdapter handlerAdapter = application.getBean("requestMappingHandlerAdapter", RequestMappingHandlerAdapter.class);
+        this.contentType = MediaType.valueOf(this.mediaType);
+        this.halWriter = new HalWriter(handlerAdapter, this.contentType);
+        // HAL 컨버터는 RepresentationModel만 읽으므로 JSON 요청 본문은 application/json으로 보낸다.
+        this.requestType = MediaTypes.HAL_JSON.equals(this.contentType) ? MediaType.APPLICATION_JSON : this.contentType;
+        for (HttpMessageConverter<?> converter : handlerAdapter.getMessageConverters()) {
+            if (converter instanceof GenericHttpMessageConverter
+                    && ((GenericHttpMessageConverter<?>) converter).canRead(EventDto.class, null, this.requestType)) {
+                this.reader = (GenericHttpMessageConverter<Object>) converter;
+                break;
+            }
+        }
+
+        RequestState request = new RequestState();
+        request.bind();
+        List<EventResource> content = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Event event = ApplicationState.event(i);
+            event.setId(i);
+            content.add(new EventResource(event));
+        }
+        this.page = new EventPagedModel(PagedModel.of(content, new PagedModel.PageMetadata(PAGE_SIZE, 0, PAGE_SIZE * 10L),
+                Link.of("http://localhost:8080/api/events?page=0&size=100").withSelfRel(),
+                Link.of("http://localhost:8080/api/events?page=1&size=100").withRel("next")));
+        request.unbind();
+
+        this.eventDtoBody = new HalWriter(handlerAdapter, this.requestType).write(ApplicationState.eventDto(1));
+        System.out.printf("%n%s: page %d bytes, eventDto %d bytes%n",
+                this.mediaType, this.halWriter.write(this.page).length, this.eventDtoBody.length);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return this.halWriter.write(this.page);
+    }
+
+    @Benchmark
+    public Object readEventDto() throws IOException {
+        MockHttpInputMessage inputMessage = new MockHttpInputMessage(this.eventDtoBody);
+        inputMessage.getHeaders().setContentType(this.requestType);
+        return this.reader.read(EventDto.class, null, inputMessage);
+    }
+}
@@ -0,0 +1,161 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventController;
+import com.study.springrestapi.events.EventDto;
+import com.study.springrestapi.events.EventMapper;
+import com.study.springrestapi.events.EventPagedModel;
+import com.study.springrestapi.events.GeneratedEventMapper;
+import com.study.springrestapi.events.EventResource;
+import com.study.springrestapi.events.EventValidator;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * EventController 안에서 호출되는 구성요소를 하나씩 따로 측정한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventComponentsBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private ModelMapper modelMapper;
+
+    private EventMapper generatedMapper;
+
+    private EventValidator eventValidator;
+
+    private HalWriter halWriter;
+
+    private EventDto eventDto;
+
+    private Event event;
+
+    private EventResource eventResource;
+
+    private PagedModel<EventResource> page;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        this.modelMapper = application.getBean(ModelMapper.class);
+        this.generatedMapper = Mappers.getMapper(GeneratedEventMapper.class);
+        this.eventValidator = application.getBean(EventValidator.class);
+        this.halWriter = new HalWriter(application.getBean("requestMappingHandlerAdapter", RequestMappingHandlerAdapter.class));
+        this.eventDto = ApplicationState.eventDto(1);
+        this.event = ApplicationState.event(1);
+        this.event.setId(1);
+        RequestState request = new RequestState();
+        request.bind();
+        this.eventResource = new EventResource(this.event);
+        this.eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+        List<EventResource> content = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Event pageEvent = ApplicationState.event(i);
+            pageEvent.setId(i);
+            content.add(new EventResource(pageEvent));
+        }
+        this.page = PagedModel.of(content, new PagedModel.PageMetadata(PAGE_SIZE, 0, PAGE_SIZE * 10L),
+                Link.of("http://localhost:8080/api/events?page=0&size=100").withSelfRel(),
+                Link.of("http://localhost:8080/api/events?page=1&size=100").withRel("next"));
+        request.unbind();
+    }
+
+    @Benchmark
+    public Event modelMapperMapNew() {
+        return this.modelMapper.map(this.eventDto, Event.class);
+    }
+
+    @Benchmark
+    public Event modelMapperMapExisting() {
+        Event existing = new Event();
+        this.modelMapper.map(this.eventDto, existing);
+        return existing;
+    }
+
+    @Benchmark
+    public Event generatedMapperMapNew() {
+        return this.generatedMapper.toEvent(this.eventDto);
+    }
+
+    @Benchmark
+    public Event generatedMapperMapExisting() {
+        Event existing = new Event();
+        this.generatedMapper.updateEvent(this.eventDto, existing);
+        return existing;
+    }
+
+    @Benchmark
+    public Errors validate() {
+        Errors errors = new BeanPropertyBindingResult(this.eventDto, "eventDto");
+        this.eventValidator.validate(this.eventDto, errors);
+        return errors;
+    }
+
+    @Benchmark
+    public Event update() {
+        this.event.update();
+        return this.event;
+    }
+
+    @Benchmark
+    public EventResource eventResourceLinks(RequestState request) {
+        return new EventResource(this.event);
+    }
+
+    /**
+     * EventLinks 이전에 EventResource가 쓰던 방식, eventResourceLinks와 비교한다.
+     */
+    @Benchmark
+    public Link linkToSelf(RequestState request) {
+        return linkTo(EventController.class).slash(this.event.getId()).withSelfRel();
+    }
+
+    @Benchmark
+    public byte[] halSerialization(RequestState request) throws IOException {
+        return this.halWriter.write(this.eventResource);
+    }
+
+    /**
+     * EventHalSerializer.Page로 100개짜리 목록 페이지를 쓴다.
+     */
+    @Benchmark
+    public byte[] halPageSerialization() throws IOException {
+        return this.halWriter.write(new EventPagedModel(this.page));
+    }
+
+    /**
+     * 같은 페이지를 Spring HATEOAS의 HAL 직렬화(HalResourcesSerializer)로 쓴다. 이벤트 항목은 EventHalSerializer.Resource가 쓴다.
+     */
+    @Benchmark
+    public byte[] halPageSerializationGeneric() throws IOException {
+        return this.halWriter.write(this.page);
+    }
+}
@@ -0,0 +1,100 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventBatchDto;
+import com.study.springrestapi.events.EventController;
+import com.study.springrestapi.events.EventDto;
+import com.study.springrestapi.events.EventSearchCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * EventController 핸들러 메서드를 직접 호출한다. (요청 바인딩, @Valid, 응답 직렬화 제외)
+ * 직렬화까지 포함한 측정은 EventApiBenchmark 를 본다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventControllerBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private EventController eventController;
+
+    private PagedResourcesAssembler<Event> assembler;
+
+    private EventDto eventDto;
+
+    private EventBatchDto eventBatchDto;
+
+    private Pageable pageable;
+
+    private Integer eventId;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(ApplicationState application) {
+        this.eventController = application.getBean(EventController.class);
+        this.assembler = application.getBean(PagedResourcesAssembler.class);
+        this.eventDto = ApplicationState.eventDto(1);
+        this.eventBatchDto = new EventBatchDto(IntStream.range(0, BATCH_SIZE)
+                .mapToObj(ApplicationState::eventDto)
+                .collect(Collectors.toList()));
+        this.pageable = PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "name"));
+        this.eventId = application.getFirstEventId();
+    }
+
+    @Benchmark
+    public ResponseEntity createEvent(RequestState request) {
+        return this.eventController.createEvent(this.eventDto, new BeanPropertyBindingResult(this.eventDto, "eventDto"));
+    }
+
+    /**
+     * 이벤트 하나당 처리량으로 보고하므로 createEvent와 바로 비교할 수 있다.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public ResponseEntity createEvents(RequestState request) {
+        return this.eventController.createEvents(this.eventBatchDto, new BeanPropertyBindingResult(this.eventBatchDto, "eventBatchDto"));
+    }
+
+    @Benchmark
+    public ResponseEntity queryEvent(RequestState request) {
+        EventSearchCondition condition = new EventSearchCondition();
+        return this.eventController.queryEvent(condition, new BeanPropertyBindingResult(condition, "eventSearchCondition"),
+                null, this.pageable, this.assembler, request.getWebRequest());
+    }
+
+    @Benchmark
+    public ResponseEntity getEvent(RequestState request) {
+        return this.eventController.getEvent(this.eventId, request.getWebRequest());
+    }
+
+    @Benchmark
+    public ResponseEntity updateEvent(RequestState request) {
+        return this.eventController.updateEvent(this.eventId, this.eventDto, new BeanPropertyBindingResult(this.eventDto, "eventDto"), null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventExportFormat;
+import com.study.springrestapi.events.EventExporter;
+import com.study.springrestapi.events.EventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 전체 이벤트를 내보낼 때 EventExporter(스트리밍)와 GET /api/events 처럼 Page를 넘겨가며 읽는 방식을 비교한다.
+ * 출력은 버리고 DB 읽기와 직렬화 비용만 본다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventExportBenchmark {
+
+    private static final int EVENTS = 20_000;
+
+    private static final int PAGE_SIZE = 500;
+
+    @Param({"NDJSON", "CSV"})
+    public EventExportFormat format;
+
+    private EventExporter eventExporter;
+
+    private EventRepository eventRepository;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        this.eventRepository = application.getBean(EventRepository.class);
+        this.eventRepository.saveAllInBatches(IntStream.range(ApplicationState.SEED_EVENTS, EVENTS)
+                .mapToObj(ApplicationState::event)
+                .collect(Collectors.toList()));
+        this.eventExporter = application.getBean(EventExporter.class);
+    }
+
+    @Benchmark
+    public long stream() throws IOException {
+        return this.eventExporter.export(this.format, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public long paging() {
+        long count = 0;
+        Pageable pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("id"));
+        Page<Event> page;
+        do {
+            page = this.eventRepository.findAll(pageable);
+            count += page.getNumberOfElements();
+            pageable = pageable.next();
+        } while (page.hasNext());
+        return count;
+    }
+}
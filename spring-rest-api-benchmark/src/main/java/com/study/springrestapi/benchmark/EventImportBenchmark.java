@@ -0,0 +1,64 @@
+package com.study.springrestapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.springrestapi.events.EventImporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * NDJSON 가져오기를 줄(이벤트) 하나당 처리량으로 측정한다. 응답은 버린다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventImportBenchmark {
+
+    private static final int LINES = 2_000;
+
+    private EventImporter eventImporter;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        this.eventImporter = application.getBean(EventImporter.class);
+        ObjectMapper objectMapper = application.getBean(ObjectMapper.class);
+        this.body = IntStream.range(0, LINES)
+                .mapToObj(i -> {
+                    try {
+                        return objectMapper.writeValueAsString(ApplicationState.eventDto(i));
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .collect(Collectors.joining("\n"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void importEvents() throws IOException {
+        this.eventImporter.importEvents(new ByteArrayInputStream(this.body), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,128 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.SpringRestApiApplication;
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 실제 Tomcat에 HTTP로 동시 요청을 보내서 요청 스레드 풀 모드와 가상 스레드 모드(my-app.virtual-threads)를 비교한다.
+ * - queryEvents: DB를 쓰는 목록 조회 (SlowDatabase로 문장마다 dbLatencyMillis 지연), 96 스레드
+ * - getEventCached: 응답 캐시에서 바로 나가는 단건 조회, 32 스레드
+ * Tomcat 스레드(server.tomcat.threads.max=64)보다 동시 요청이 많아서 풀 모드에서는 DB를 기다리는 요청이
+ * 스레드를 다 잡고 캐시 조회까지 accept 큐에서 기다린다. 두 모드 모두 DB 동시 사용은 Hikari 풀(기본 10)이 제한한다.
+ * Throughput은 초당 요청 수, SampleTime은 p0.99 지연을 본다.
+ * 가상 스레드 모드는 JDK 21 이상에서만 뜨므로 그보다 낮은 JDK에서는 -p virtualThreads=false 로 실행한다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EventLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ServerState {
+
+        @Param({"false", "true"})
+        public boolean virtualThreads;
+
+        @Param({"20"})
+        public long dbLatencyMillis;
+
+        private ConfigurableApplicationContext context;
+
+        private HttpClient httpClient;
+
+        private HttpRequest queryEvents;
+
+        private HttpRequest getEvent;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            SlowDatabase.setLatencyMillis(0);
+            this.context = new SpringApplicationBuilder(SpringRestApiApplication.class, SlowDatabase.class)
+                    .profiles("bench")
+                    .properties("my-app.virtual-threads=" + this.virtualThreads,
+                            "server.tomcat.threads.max=64",
+                            "server.tomcat.accept-count=1000")
+                    .run();
+            EventRepository eventRepository = this.context.getBean(EventRepository.class);
+            Integer firstEventId = IntStream.range(0, ApplicationState.SEED_EVENTS)
+                    .mapToObj(i -> eventRepository.save(ApplicationState.event(i)))
+                    .map(Event::getId)
+                    .min(Integer::compareTo)
+                    .orElseThrow();
+
+            int port = ((ServletWebServerApplicationContext) this.context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+            this.httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            this.queryEvents = HttpRequest.newBuilder(baseUri.resolve("/api/events?page=1&size=20&sort=name,DESC"))
+                    .header("Accept", "application/hal+json")
+                    .build();
+            this.getEvent = HttpRequest.newBuilder(baseUri.resolve("/api/events/" + firstEventId))
+                    .header("Accept", "application/hal+json")
+                    .build();
+            // 응답 캐시를 채운 뒤에 지연을 켠다.
+            send(this.getEvent);
+            SlowDatabase.setLatencyMillis(this.dbLatencyMillis);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            SlowDatabase.setLatencyMillis(0);
+            this.context.close();
+        }
+
+        int send(HttpRequest request) throws IOException, InterruptedException {
+            HttpResponse<byte[]> response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(request.uri() + " -> " + response.statusCode());
+            }
+            return response.body().length;
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(96)
+    public int queryEvents(ServerState server) throws Exception {
+        return server.send(server.queryEvents);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(32)
+    public int getEventCached(ServerState server) throws Exception {
+        return server.send(server.getEvent);
+    }
+}
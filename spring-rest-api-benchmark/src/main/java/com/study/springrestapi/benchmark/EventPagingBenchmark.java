@@ -0,0 +1,92 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventController;
+import com.study.springrestapi.events.EventCursor;
+import com.study.springrestapi.events.EventRepository;
+import com.study.springrestapi.events.EventSearchCondition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 위치(page)를 OFFSET 페이지네이션과 커서(after) 페이지네이션으로 각각 조회한다.
+ * 커서 방식은 page가 깊어져도 시간이 일정해야 한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventPagingBenchmark {
+
+    private static final int EVENTS = 20_000;
+
+    private static final int SIZE = 20;
+
+    @Param({"1", "100", "990"})
+    public int page;
+
+    private EventController eventController;
+
+    private PagedResourcesAssembler<Event> assembler;
+
+    private Pageable offsetPageable;
+
+    private Pageable cursorPageable;
+
+    private String after;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp(ApplicationState application) {
+        EventRepository eventRepository = application.getBean(EventRepository.class);
+        eventRepository.saveAll(IntStream.range(ApplicationState.SEED_EVENTS, EVENTS)
+                .mapToObj(ApplicationState::event)
+                .collect(Collectors.toList()));
+
+        this.eventController = application.getBean(EventController.class);
+        this.assembler = application.getBean(PagedResourcesAssembler.class);
+        Sort.Order order = Sort.Order.desc("name");
+        this.offsetPageable = PageRequest.of(this.page, SIZE, Sort.by(order, Sort.Order.desc("id")));
+        this.cursorPageable = PageRequest.of(0, SIZE);
+
+        Event last = eventRepository.findAll(PageRequest.of(this.page * SIZE - 1, 1, Sort.by(order, Sort.Order.desc("id"))))
+                .getContent().get(0);
+        this.after = EventCursor.after(last, order).encode();
+    }
+
+    @Benchmark
+    public ResponseEntity offset(RequestState request) {
+        EventSearchCondition condition = new EventSearchCondition();
+        return this.eventController.queryEvent(condition, new BeanPropertyBindingResult(condition, "eventSearchCondition"),
+                null, this.offsetPageable, this.assembler, request.getWebRequest());
+    }
+
+    @Benchmark
+    public ResponseEntity cursor(RequestState request) {
+        EventSearchCondition condition = new EventSearchCondition();
+        return this.eventController.queryEventAfter(this.after, condition, new BeanPropertyBindingResult(condition, "eventSearchCondition"),
+                null, this.cursorPageable, request.getWebRequest());
+    }
+}
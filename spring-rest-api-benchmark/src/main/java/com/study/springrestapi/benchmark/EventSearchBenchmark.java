@@ -0,0 +1,74 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventRepository;
+import com.study.springrestapi.events.EventSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 키워드로 메모리 역색인(EventSearchIndex)과 DB LIKE '%x%' 전체 스캔을 비교한다.
+ * 역색인 쪽도 찾은 id로 한 페이지를 DB에서 읽어오는 것까지 잰다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSearchBenchmark {
+
+    private static final int EVENTS = 20_000;
+
+    private static final String KEYWORD = "event12345";
+
+    private EventRepository eventRepository;
+
+    private EventSearchIndex eventSearchIndex;
+
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        this.eventRepository = application.getBean(EventRepository.class);
+        this.eventRepository.saveAll(IntStream.range(ApplicationState.SEED_EVENTS, EVENTS)
+                .mapToObj(ApplicationState::event)
+                .collect(Collectors.toList()));
+        this.eventSearchIndex = application.getBean(EventSearchIndex.class);
+        this.eventSearchIndex.rebuild();
+        this.pageable = PageRequest.of(0, 20);
+    }
+
+    @Benchmark
+    public List<Event> index() {
+        Page<Integer> ids = this.eventSearchIndex.search(KEYWORD, this.pageable);
+        return this.eventRepository.findAllById(ids.getContent());
+    }
+
+    @Benchmark
+    public Page<Event> like() {
+        String pattern = "%" + KEYWORD + "%";
+        Specification<Event> spec = (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("name")), pattern),
+                cb.like(cb.lower(root.get("description")), pattern));
+        return this.eventRepository.findAll(spec, this.pageable);
+    }
+}
@@ -0,0 +1,204 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springreactiveapi.SpringReactiveApiApplication;
+import com.study.springrestapi.SpringRestApiApplication;
+import com.study.springrestapi.events.EventRepository;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 이벤트 API를 servlet(Tomcat + JPA, spring-rest-api)과 reactive(Netty + R2DBC, spring-rest-api-reactive)로 띄우고
+ * connections 개의 연결로 동시에 요청을 보내서 비교한다.
+ * - 한 op는 connections 개의 요청을 한꺼번에 보내고 모두 응답이 올 때까지다. (Throughput은 초당 op)
+ * - 요청마다의 지연은 iteration이 끝날 때 p50, p99, max와 초당 요청 수로 출력한다.
+ * - query: 목록 조회 (매번 목록, count 두 쿼리), get: 단건 조회 (servlet은 응답 캐시에서 나간다)
+ * 두 앱 모두 H2 메모리 DB를 쓴다. r2dbc-h2는 내부에서 JDBC 드라이버를 그대로 호출하므로 reactive 쪽 DB 호출은
+ * 이벤트 루프를 잠깐 막는다. 네트워크 DB(PostgreSQL)에서의 차이는 이 숫자보다 크게 나온다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EventStackLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ServerState {
+
+        @Param({"servlet", "reactive"})
+        public String stack;
+
+        @Param({"query", "get"})
+        public String request;
+
+        @Param({"1000"})
+        public int connections;
+
+        private ConfigurableApplicationContext context;
+
+        private ConnectionProvider connectionProvider;
+
+        private HttpClient httpClient;
+
+        private String uri;
+
+        private final Recorder latency = new Recorder(3);
+
+        private long iterationStartNanos;
+
+        @Setup(Level.Trial)
+        public void start() {
+            Integer firstEventId = "reactive".equals(this.stack) ? startReactive() : startServlet();
+            int port = ((WebServerApplicationContext) this.context).getWebServer().getPort();
+            this.uri = "query".equals(this.request)
+                    ? "/api/events?page=1&size=20&sort=name,DESC"
+                    : "/api/events/" + firstEventId;
+            this.connectionProvider = ConnectionProvider.builder("load")
+                    .maxConnections(this.connections)
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            this.httpClient = HttpClient.create(this.connectionProvider)
+                    .baseUrl("http://localhost:" + port)
+                    .headers(headers -> headers.set("Accept", "application/hal+json"))
+                    .responseTimeout(Duration.ofSeconds(30));
+            // 연결을 미리 열어둔다.
+            burst().block();
+        }
+
+        private Integer startServlet() {
+            this.context = new SpringApplicationBuilder(SpringRestApiApplication.class)
+                    .profiles("bench")
+                    .run();
+            EventRepository eventRepository = this.context.getBean(EventRepository.class);
+            return IntStream.range(0, ApplicationState.SEED_EVENTS)
+                    .mapToObj(i -> eventRepository.save(ApplicationState.event(i)).getId())
+                    .min(Integer::compareTo)
+                    .orElseThrow();
+        }
+
+        /**
+         * classpath의 application.properties는 spring-rest-api 것이 먼저 읽히므로 reactive 앱에 필요한 값은
+         * 우선순위가 가장 높은 커맨드라인 인자로 넘기고 JPA, servlet 보안 자동 설정은 뺀다.
+         * reactive 앱의 SecurityConfig는 서명 키가 없으면 시작하지 않는다. (GET은 토큰 없이 받는다)
+         */
+        private Integer startReactive() {
+            this.context = new SpringApplicationBuilder(SpringReactiveApiApplication.class)
+                    .web(WebApplicationType.REACTIVE)
+                    .run("--server.port=0",
+                            "--spring.main.banner-mode=off",
+                            "--logging.level.root=WARN",
+                            "--spring.r2dbc.url=r2dbc:h2:mem:///reactivebenchdb;DB_CLOSE_DELAY=-1",
+                            "--spring.r2dbc.username=sa",
+                            "--spring.r2dbc.password=",
+                            "--my-app.token-signing-key=benchmark-hmac-signing-key-0123456789",
+                            "--spring.autoconfigure.exclude="
+                                    + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                                    + "org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration,"
+                                    + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                                    + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration,"
+                                    + "org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration,"
+                                    + "org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration,"
+                                    + "org.springframework.boot.actuate.autoconfigure.security.reactive.ReactiveManagementWebSecurityAutoConfiguration");
+            com.study.springreactiveapi.events.EventRepository eventRepository =
+                    this.context.getBean(com.study.springreactiveapi.events.EventRepository.class);
+            return Flux.range(0, ApplicationState.SEED_EVENTS)
+                    .concatMap(i -> eventRepository.save(reactiveEvent(i)))
+                    .map(com.study.springreactiveapi.events.Event::getId)
+                    .reduce(Math::min)
+                    .block();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            this.connectionProvider.disposeLater().block();
+            this.context.close();
+        }
+
+        @Setup(Level.Iteration)
+        public void resetLatency() {
+            this.latency.reset();
+            this.iterationStartNanos = System.nanoTime();
+        }
+
+        @TearDown(Level.Iteration)
+        public void printLatency() {
+            Histogram histogram = this.latency.getIntervalHistogram();
+            double seconds = (System.nanoTime() - this.iterationStartNanos) / 1e9;
+            System.out.printf("%n[%s/%s] requests=%d (%.0f req/s) p50=%.1fms p99=%.1fms max=%.1fms%n",
+                    this.stack, this.request, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getMaxValue() / 1e6);
+        }
+
+        Mono<Long> burst() {
+            return Flux.range(0, this.connections)
+                    .flatMap(i -> send(), this.connections)
+                    .count();
+        }
+
+        private Mono<Integer> send() {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return this.httpClient.get()
+                        .uri(this.uri)
+                        .responseSingle((response, body) -> {
+                            if (!HttpResponseStatus.OK.equals(response.status())) {
+                                return Mono.error(new IllegalStateException(this.uri + " -> " + response.status()));
+                            }
+                            return body.asByteArray().map(bytes -> bytes.length);
+                        })
+                        .doOnSuccess(length -> this.latency.recordValue(System.nanoTime() - start));
+            });
+        }
+    }
+
+    static com.study.springreactiveapi.events.Event reactiveEvent(int index) {
+        com.study.springreactiveapi.events.Event event = com.study.springreactiveapi.events.Event.builder()
+                .name("event" + index)
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 4, 17, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 12, 0))
+                .beginEventDateTime(LocalDateTime.of(2021, 4, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 4, 21, 12, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100)
+                .location("서울 광화문")
+                .eventStatus(com.study.springreactiveapi.events.EventStatus.DRAFT)
+                .build();
+        event.update();
+        return event;
+    }
+
+    @Benchmark
+    public long burst(ServerState server) {
+        return server.burst().block();
+    }
+}
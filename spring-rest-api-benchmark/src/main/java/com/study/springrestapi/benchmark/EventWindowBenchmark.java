@@ -0,0 +1,88 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.events.Event;
+import com.study.springrestapi.events.EventRepository;
+import com.study.springrestapi.events.EventWindow;
+import com.study.springrestapi.events.EventWindowIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * "이 시간에 등록할 수 있는 이벤트" 를 메모리 구간 트리(EventWindowIndex)와 DB 범위 조건으로 비교한다.
+ * 이벤트마다 등록 기간을 한 시간씩 늦춰서 48시간 동안 열어두므로 한 시간에 48개 정도가 걸린다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventWindowBenchmark {
+
+    private static final int EVENTS = 20_000;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private static final LocalDateTime AT = BASE.plusHours(EVENTS / 2).plusMinutes(30);
+
+    private EventRepository eventRepository;
+
+    private EventWindowIndex eventWindowIndex;
+
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState application) {
+        this.eventRepository = application.getBean(EventRepository.class);
+        this.eventRepository.saveAll(IntStream.range(ApplicationState.SEED_EVENTS, EVENTS)
+                .mapToObj(i -> {
+                    Event event = ApplicationState.event(i);
+                    event.setBeginEnrollmentDateTime(BASE.plusHours(i));
+                    event.setCloseEnrollmentDateTime(BASE.plusHours(i + 48));
+                    return event;
+                })
+                .collect(Collectors.toList()));
+        this.eventWindowIndex = application.getBean(EventWindowIndex.class);
+        this.eventWindowIndex.rebuild();
+        this.pageable = PageRequest.of(0, 20);
+    }
+
+    @Benchmark
+    public Page<Integer> indexIds() {
+        return this.eventWindowIndex.search(EventWindow.ENROLLMENT, AT, AT, this.pageable);
+    }
+
+    @Benchmark
+    public List<Event> index() {
+        Page<Integer> ids = this.eventWindowIndex.search(EventWindow.ENROLLMENT, AT, AT, this.pageable);
+        return this.eventRepository.findAllById(ids.getContent());
+    }
+
+    @Benchmark
+    public Page<Event> rangeScan() {
+        Specification<Event> spec = (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("beginEnrollmentDateTime"), AT),
+                cb.greaterThanOrEqualTo(root.get("closeEnrollmentDateTime"), AT));
+        return this.eventRepository.findAll(spec, PageRequest.of(0, 20, Sort.by("beginEnrollmentDateTime", "id")));
+    }
+}
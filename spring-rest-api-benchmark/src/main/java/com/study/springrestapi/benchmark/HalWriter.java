@@ -0,0 +1,52 @@
+package com.study.springrestapi.benchmark;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * MVC가 응답을 쓸 때와 같은 HttpMessageConverter(HAL 설정이 된 ObjectMapper)로 직렬화한다.
+ */
+public class HalWriter {
+
+    private final List<HttpMessageConverter<?>> converters;
+
+    private final MediaType mediaType;
+
+    public HalWriter(RequestMappingHandlerAdapter handlerAdapter) {
+        this(handlerAdapter, MediaTypes.HAL_JSON);
+    }
+
+    public HalWriter(RequestMappingHandlerAdapter handlerAdapter, MediaType mediaType) {
+        this.converters = handlerAdapter.getMessageConverters();
+        this.mediaType = mediaType;
+    }
+
+    @SuppressWarnings("unchecked")
+    public byte[] write(Object body) throws IOException {
+        Class<?> bodyClass = body.getClass();
+        Type bodyType = ResolvableType.forInstance(body).getType();
+        for (HttpMessageConverter<?> converter : this.converters) {
+            MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+            if (converter instanceof GenericHttpMessageConverter) {
+                GenericHttpMessageConverter<Object> generic = (GenericHttpMessageConverter<Object>) converter;
+                if (generic.canWrite(bodyType, bodyClass, this.mediaType)) {
+                    generic.write(body, bodyType, this.mediaType, outputMessage);
+                    return outputMessage.getBodyAsBytes();
+                }
+            } else if (converter.canWrite(bodyClass, this.mediaType)) {
+                ((HttpMessageConverter<Object>) converter).write(body, this.mediaType, outputMessage);
+                return outputMessage.getBodyAsBytes();
+            }
+        }
+        throw new IllegalStateException("No converter for " + bodyClass + " as " + this.mediaType);
+    }
+}
@@ -0,0 +1,42 @@
+package com.study.springrestapi.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * linkTo(...)는 현재 요청에서 base URI를 만든다.
+ * 컨트롤러를 직접 호출하는 벤치마크에서도 실제 요청과 같은 비용이 들도록 측정 스레드마다 요청을 바인딩한다.
+ */
+@State(Scope.Thread)
+public class RequestState {
+
+    private ServletWebRequest webRequest;
+
+    @Setup(Level.Trial)
+    public void bind() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        this.webRequest = new ServletWebRequest(request);
+    }
+
+    /**
+     * 조건부 요청 헤더가 없는 요청이므로 checkNotModified는 항상 false다.
+     */
+    public ServletWebRequest getWebRequest() {
+        return webRequest;
+    }
+
+    @TearDown(Level.Trial)
+    public void unbind() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+}
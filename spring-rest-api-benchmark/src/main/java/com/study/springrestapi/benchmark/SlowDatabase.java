@@ -0,0 +1,100 @@
+package com.study.springrestapi.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 느린 DB를 흉내낸다. PreparedStatement를 실행할 때마다 커넥션을 잡은 채로 latencyMillis 만큼 기다린다.
+ * 컴포넌트 스캔에 걸리지 않도록 @Configuration 없이 SpringApplicationBuilder의 source로 넘긴다.
+ * 데이터를 미리 넣는 동안에는 0으로 두고 측정 직전에 setLatencyMillis로 켠다.
+ */
+public class SlowDatabase {
+
+    private static volatile long latencyNanos;
+
+    public static void setLatencyMillis(long latencyMillis) {
+        latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+    }
+
+    @Bean
+    public static BeanPostProcessor slowDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SlowDataSource)) {
+                    return new SlowDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return slow(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return slow(super.getConnection(username, password));
+        }
+
+        private static Connection slow(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(SlowDatabase.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement) {
+                            return Proxy.newProxyInstance(SlowDatabase.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                                    new SlowStatement((PreparedStatement) result));
+                        }
+                        return result;
+                    });
+        }
+    }
+
+    static class SlowStatement implements InvocationHandler {
+
+        private final PreparedStatement target;
+
+        SlowStatement(PreparedStatement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                long nanos = latencyNanos;
+                if (nanos > 0) {
+                    LockSupport.parkNanos(nanos);
+                }
+            }
+            return SlowDatabase.invoke(this.target, method, args);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.configs.BoundedTokenStore;
+import com.study.springrestapi.configs.SignedAccessTokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리소스 서버가 요청마다 하는 토큰 인증(DefaultTokenServices.loadAuthentication) 비용을 토큰 방식별로 비교한다.
+ * - store: BoundedTokenStore 조회
+ * - jwt: SignedAccessTokenStore의 서명 검증 + 클레임 파싱 (저장소 조회 없음)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TokenAuthenticationBenchmark {
+
+    private static final int TOKENS = 50_000;
+
+    private static final String SIGNING_KEY = "benchmark-hmac-signing-key-0123456789";
+
+    private static final List<GrantedAuthority> AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER");
+
+    @Param({"store", "jwt"})
+    public String mode;
+
+    private BoundedTokenStore tokenStore;
+
+    private DefaultTokenServices tokenServices;
+
+    private String[] tokenValues;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if ("jwt".equals(this.mode)) {
+            SignedAccessTokenStore signedAccessTokenStore = new SignedAccessTokenStore(SIGNING_KEY, TOKENS * 2, new SimpleMeterRegistry());
+            this.tokenStore = signedAccessTokenStore;
+            this.tokenServices = new DefaultTokenServices();
+            this.tokenServices.setTokenEnhancer(signedAccessTokenStore.getAccessTokenConverter());
+        } else {
+            this.tokenStore = new BoundedTokenStore(TOKENS * 2, new SimpleMeterRegistry());
+            this.tokenServices = new DefaultTokenServices();
+        }
+        this.tokenStore.afterPropertiesSet();
+        this.tokenServices.setTokenStore(this.tokenStore);
+        this.tokenServices.setSupportRefreshToken(true);
+        this.tokenServices.afterPropertiesSet();
+
+        this.tokenValues = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            this.tokenValues[i] = this.tokenServices.createAccessToken(authentication("user" + i + "@email.com")).getValue();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.tokenStore.destroy();
+    }
+
+    @Benchmark
+    public OAuth2Authentication loadAuthentication() {
+        return this.tokenServices.loadAuthentication(this.tokenValues[ThreadLocalRandom.current().nextInt(TOKENS)]);
+    }
+
+    private static OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", AUTHORITIES, true, Set.of("read", "write"),
+                null, null, null, null);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(username, "N/A", AUTHORITIES));
+    }
+}
@@ -0,0 +1,107 @@
+package com.study.springrestapi.benchmark;
+
+import com.study.springrestapi.configs.BoundedTokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.TokenStore;
+import org.springframework.security.oauth2.provider.token.store.InMemoryTokenStore;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 발급(store)과 리소스 서버의 토큰 조회(readAuthentication)를 여러 스레드에서 동시에 한다.
+ * 발급 1번에 조회 9번 비율이고, 미리 PRELOADED 개의 토큰을 넣어둔다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class TokenStoreBenchmark {
+
+    private static final int PRELOADED = 50_000;
+
+    private static final List<GrantedAuthority> AUTHORITIES = AuthorityUtils.createAuthorityList("ROLE_USER");
+
+    @Param({"inMemory", "bounded"})
+    public String store;
+
+    private TokenStore tokenStore;
+
+    private String[] tokenValues;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("bounded".equals(this.store)) {
+            BoundedTokenStore boundedTokenStore = new BoundedTokenStore(PRELOADED * 2, new SimpleMeterRegistry());
+            boundedTokenStore.afterPropertiesSet();
+            this.tokenStore = boundedTokenStore;
+        } else {
+            this.tokenStore = new InMemoryTokenStore();
+        }
+        this.tokenValues = new String[PRELOADED];
+        for (int i = 0; i < PRELOADED; i++) {
+            OAuth2AccessToken token = accessToken();
+            this.tokenStore.storeAccessToken(token, authentication("user" + i));
+            this.tokenValues[i] = token.getValue();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (this.tokenStore instanceof BoundedTokenStore) {
+            ((BoundedTokenStore) this.tokenStore).destroy();
+        }
+    }
+
+    @Benchmark
+    public Object issueAndRead() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            OAuth2AccessToken token = accessToken();
+            this.tokenStore.storeAccessToken(token, authentication("user" + random.nextInt(PRELOADED)));
+            return token;
+        }
+        return this.tokenStore.readAuthentication(this.tokenValues[random.nextInt(PRELOADED)]);
+    }
+
+    private static OAuth2AccessToken accessToken() {
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(UUID.randomUUID().toString());
+        token.setExpiration(new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10)));
+        return token;
+    }
+
+    private static OAuth2Authentication authentication(String username) {
+        OAuth2Request request = new OAuth2Request(Map.of(), "myApp", AUTHORITIES, true, Set.of("read"),
+                null, null, null, null);
+        return new OAuth2Authentication(request, new UsernamePasswordAuthenticationToken(username, "N/A", AUTHORITIES));
+    }
+}
@@ -0,0 +1,17 @@
+package com.study.springreactiveapi;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * spring-rest-api의 /api/events 를 WebFlux + R2DBC로 옮긴 모듈
+ * 요청 본문, 응답(HAL), 검증 에러 형식은 spring-rest-api와 같다.
+ * 요청은 CPU 코어 수 만큼의 Netty 이벤트 루프 스레드가 처리하고 DB 호출도 블로킹하지 않는다.
+ */
+@SpringBootApplication
+public class SpringReactiveApiApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SpringReactiveApiApplication.class, args);
+    }
+}
@@ -0,0 +1,22 @@
+package com.study.springreactiveapi.common;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * 요청의 scheme://host:port/contextPath
+ * spring-rest-api의 링크(ServletUriComponentsBuilder.fromContextPath)와 같은 값을 만든다.
+ */
+public final class BaseUri {
+
+    private BaseUri() {
+    }
+
+    public static String of(ServerHttpRequest request) {
+        return UriComponentsBuilder.fromUri(request.getURI())
+                .replacePath(request.getPath().contextPath().value())
+                .replaceQuery(null)
+                .fragment(null)
+                .toUriString();
+    }
+}
@@ -0,0 +1,13 @@
+package com.study.springreactiveapi.common;
+
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.validation.Errors;
+
+public class ErrorsResource extends EntityModel<Errors> {
+    public static EntityModel<Errors> modelOf(Errors errors, String baseUri) {
+        EntityModel<Errors> errorsModel = EntityModel.of(errors);
+        errorsModel.add(Link.of(baseUri + "/api").withRel("index"));
+        return errorsModel;
+    }
+}
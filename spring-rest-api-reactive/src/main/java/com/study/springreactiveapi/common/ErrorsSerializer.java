@@ -0,0 +1,43 @@
+package com.study.springreactiveapi.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.validation.Errors;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * spring-rest-api의 ErrorsSerializer와 같은 형식 (field 에러 다음에 global 에러)
+ */
+@JsonComponent
+public class ErrorsSerializer extends JsonSerializer<Errors> {
+    @Override
+    public void serialize(Errors errors, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeFieldName("errors");
+        gen.writeStartArray();
+        for (var e : errors.getFieldErrors()) {
+            gen.writeStartObject();
+            gen.writeStringField("field", e.getField());
+            gen.writeStringField("objectName", e.getObjectName());
+            gen.writeStringField("code", e.getCode());
+            gen.writeStringField("defaultMessage", e.getDefaultMessage());
+            Object rejectedValue = e.getRejectedValue();
+            // 목록 크기 에러(@Size) 등에서 목록 전체를 문자열로 쓰지 않는다.
+            if (rejectedValue != null && !(rejectedValue instanceof Collection)) {
+                gen.writeStringField("rejectedValue", rejectedValue.toString());
+            }
+            gen.writeEndObject();
+        }
+        for (var e : errors.getGlobalErrors()) {
+            gen.writeStartObject();
+            gen.writeStringField("objectName", e.getObjectName());
+            gen.writeStringField("code", e.getCode());
+            gen.writeStringField("defaultMessage", e.getDefaultMessage());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,38 @@
+package com.study.springreactiveapi.configs;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.hateoas.config.EnableHypermediaSupport;
+import org.springframework.hateoas.config.EnableHypermediaSupport.HypermediaType;
+import org.springframework.hateoas.support.WebStack;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * - HAL: spring-boot-starter-hateoas는 Spring MVC 전용이라 WebFlux용 HAL 인코더를 직접 켠다.
+ * - Pageable: page, size, sort 파라미터를 spring-rest-api와 같이 받는다. (기본 size 20)
+ * - event-schema.sql: Boot 2.4의 R2DBC 자동 설정은 스키마를 만들지 않으므로 시작할 때 실행한다. (create table if not exists)
+ *   JDBC 자동 설정이 읽는 schema.sql 이름을 피해서 spring-rest-api와 같은 classpath에 있어도 섞이지 않는다.
+ */
+@Configuration
+@EnableHypermediaSupport(type = HypermediaType.HAL, stacks = WebStack.WEBFLUX)
+public class AppConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+
+    @Bean
+    public ConnectionFactoryInitializer schemaInitializer(ConnectionFactory connectionFactory) {
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(connectionFactory);
+        initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("event-schema.sql")));
+        return initializer;
+    }
+}
@@ -0,0 +1,94 @@
+package com.study.springreactiveapi.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * spring-rest-api의 ResourceServerConfig와 같은 규칙: GET /api/** 는 누구나, 나머지는 Bearer 액세스 토큰이 있어야 한다.
+ * 토큰은 spring-rest-api가 my-app.token-mode=jwt 로 발급한 HS256 JWT이고 같은 my-app.token-signing-key로 서명과 만료 시간을 확인한다.
+ * 이 모듈은 토큰 저장소가 없으므로 store 모드로 발급한 토큰은 받지 않는다.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    /**
+     * JwtAccessTokenConverter가 리프레시 토큰에만 넣는 클레임 (spring-rest-api SignedAccessTokenStore와 같이 거절한다)
+     */
+    private static final String ACCESS_TOKEN_ID = "ati";
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf().disable()
+                .httpBasic().disable()
+                .formLogin().disable()
+                .authorizeExchange()
+                    .pathMatchers(HttpMethod.GET, "/api/**")
+                        .permitAll()
+                    .anyExchange()
+                        .authenticated()
+                    .and()
+                .oauth2ResourceServer()
+                    .jwt()
+                        .jwtAuthenticationConverter(new ReactiveJwtAuthenticationConverterAdapter(authenticationConverter()))
+                        .and()
+                    .and()
+                .build();
+    }
+
+    /**
+     * HS256 키는 해시 출력 길이(256bit) 이상이어야 한다. 기본값이 없어서 넣지 않으면 시작하지 않는다.
+     */
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(@Value("${my-app.token-signing-key:}") String signingKey) {
+        byte[] key = signingKey.getBytes(StandardCharsets.UTF_8);
+        if (key.length < 32) {
+            throw new IllegalStateException("my-app.token-signing-key must be at least 32 bytes");
+        }
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withSecretKey(new SecretKeySpec(key, "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(JwtValidators.createDefault(), notRefreshToken()));
+        return decoder;
+    }
+
+    /**
+     * 사용자는 user_name 클레임(이메일), 권한은 authorities 클레임(ROLE_*)을 그대로 쓴다.
+     */
+    private static JwtAuthenticationConverter authenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName("authorities");
+        authoritiesConverter.setAuthorityPrefix("");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setPrincipalClaimName("user_name");
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return converter;
+    }
+
+    private static OAuth2TokenValidator<Jwt> notRefreshToken() {
+        return jwt -> jwt.getClaims().containsKey(ACCESS_TOKEN_ID)
+                ? OAuth2TokenValidatorResult.failure(new OAuth2Error("invalid_token", "Encoded token is a refresh token", null))
+                : OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,60 @@
+package com.study.springreactiveapi.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * spring-rest-api의 Event와 같은 컬럼(event 테이블, event-schema.sql)과 같은 JSON 모양
+ * R2DBC는 연관관계를 매핑하지 않으므로 관리자는 manager_id 컬럼만 읽고, 응답의 manager는 항상 null이다.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(of = "id")
+@Table("event")
+public class Event {
+    @Id
+    private Integer id;
+    private String name;
+    private String description;
+    private LocalDateTime beginEnrollmentDateTime;
+    private LocalDateTime closeEnrollmentDateTime;
+    private LocalDateTime beginEventDateTime;
+    private LocalDateTime endEventDateTime;
+    // (optional) location이 없으면 온라인 모임
+    private String location;
+    // (optional)
+    private int basePrice;
+    // (optional)
+    private int maxPrice;
+    private int limitOfEnrollment;
+    // 모임 온오프확인
+    private boolean offline;
+    // 모임 유무료 여부
+    private boolean free;
+    private EventStatus eventStatus = EventStatus.DRAFT;
+    @Transient
+    private Object manager;
+    // 수정될 때마다 1씩 올라간다. ETag와 낙관적 잠금(If-Match)에 사용한다.
+    @Version
+    private Integer version;
+    @JsonIgnore
+    @Column("manager_id")
+    private Integer managerId;
+
+    public void update() {
+        // Update free
+        this.free = this.basePrice == 0 && this.maxPrice == 0;
+        // Update offline
+        this.offline = this.location != null && !this.location.isBlank();
+    }
+}
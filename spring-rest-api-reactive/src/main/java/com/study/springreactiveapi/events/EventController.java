@@ -0,0 +1,229 @@
+package com.study.springreactiveapi.events;
+
+import com.study.springreactiveapi.common.BaseUri;
+import com.study.springreactiveapi.common.ErrorsResource;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Validator;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * spring-rest-api EventController의 생성, 목록 조회, 단건 조회, 수정 API와 같은 요청/응답
+ * 핸들러는 이벤트 루프에서 실행되므로 블로킹 호출 없이 R2DBC 결과(Mono, Flux)를 이어서 응답을 만든다.
+ * 생성, 수정은 spring-rest-api가 발급한 액세스 토큰이 있어야 한다. (SecurityConfig)
+ * spring-rest-api와 같이 토큰만 확인하고 이벤트의 관리자(manager_id)가 누구인지는 확인하지 않는다.
+ */
+@Controller
+@RequestMapping(value = "/api/events", produces = MediaTypes.HAL_JSON_VALUE)
+public class EventController {
+
+    private final EventRepository eventRepository;
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    private final EventMapper eventMapper;
+
+    private final EventValidator eventValidator;
+
+    private final SpringValidatorAdapter beanValidator;
+
+    public EventController(EventRepository eventRepository, R2dbcEntityTemplate entityTemplate, EventMapper eventMapper,
+                           EventValidator eventValidator, Validator validator) {
+        this.eventRepository = eventRepository;
+        this.entityTemplate = entityTemplate;
+        this.eventMapper = eventMapper;
+        this.eventValidator = eventValidator;
+        this.beanValidator = new SpringValidatorAdapter(validator);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> createEvent(@RequestBody EventDto eventDto, ServerWebExchange exchange) {
+        String baseUri = BaseUri.of(exchange.getRequest());
+        Errors errors = validate(eventDto);
+        if (errors.hasErrors()) {
+            return Mono.just(badRequest(errors, baseUri));
+        }
+
+        Event event = this.eventMapper.toEvent(eventDto);
+        event.update();
+        return this.eventRepository.save(event).map(newEvent -> {
+            Link updateLink = EventLinks.item(baseUri, newEvent.getId(), LinkRelation.of("update-events"));
+            EventResource eventResource = new EventResource(newEvent, baseUri);
+            eventResource.add(EventLinks.collection(baseUri, "query-events"));
+            eventResource.add(updateLink);
+            eventResource.add(Link.of("/docs/index.html#resources-events-create").withRel("profile"));
+            return ResponseEntity.created(URI.create(updateLink.getHref())).eTag(EventETag.of(newEvent)).body(eventResource);
+        });
+    }
+
+    /**
+     * Event 목록 조회 API
+     * 목록과 count 쿼리를 동시에 보내고 둘 다 오면 PagedResourcesAssembler와 같은 링크(first, prev, self, next, last)를 붙인다.
+     * @param condition : 필터 조건 (eventStatus, free, offline, priceFrom, priceTo, enrollmentFrom, enrollmentTo, manager)
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> queryEvent(@ModelAttribute EventSearchCondition condition, BindingResult errors,
+                                              Pageable pageable, ServerWebExchange exchange) {
+        String baseUri = BaseUri.of(exchange.getRequest());
+        this.eventValidator.validate(condition, errors);
+        if (errors.hasErrors()) {
+            return Mono.just(badRequest(errors, baseUri));
+        }
+
+        Query query = Query.query(EventCriteria.of(condition));
+        Mono<List<Event>> content = this.entityTemplate.select(Event.class).matching(query.with(pageable)).all().collectList();
+        Mono<Long> total = this.entityTemplate.select(Event.class).matching(query).count();
+        return Mono.zip(content, total).map(result -> {
+            Page<Event> page = new PageImpl<>(result.getT1(), pageable, result.getT2());
+            String eTag = EventETag.of(page.getContent(), page.getTotalElements());
+            if (exchange.checkNotModified(eTag)) {
+                return notModified(eTag);
+            }
+            List<EventResource> resources = page.getContent().stream()
+                    .map(event -> new EventResource(event, baseUri))
+                    .collect(Collectors.toList());
+            PagedModel<EventResource> pagedResources = PagedModel.of(resources,
+                    new PagedModel.PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages()),
+                    paginationLinks(page, exchange));
+            pagedResources.add(Link.of("/docs/index.html#resources-events-list").withRel("profile"));
+            return ResponseEntity.ok().eTag(eTag).body(pagedResources);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getEvent(@PathVariable Integer id, ServerWebExchange exchange) {
+        String baseUri = BaseUri.of(exchange.getRequest());
+        return this.eventRepository.findById(id)
+                .<ResponseEntity<?>>map(event -> {
+                    String eTag = EventETag.of(event);
+                    if (exchange.checkNotModified(eTag)) {
+                        return notModified(eTag);
+                    }
+                    EventResource eventResource = new EventResource(event, baseUri);
+                    eventResource.add(Link.of("/docs/index.html#resources-events-get").withRel("profile"));
+                    return ResponseEntity.ok().eTag(eTag).body(eventResource);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * If-Match 헤더가 있으면 현재 ETag와 같을 때만 수정하고, 다르면 412로 응답한다.
+     * 조회와 저장 사이에 다른 요청이 먼저 수정한 경우에도 @Version 검사(OptimisticLockingFailureException)에 걸려서 412로 응답한다.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateEvent(@PathVariable Integer id, @RequestBody EventDto eventDto,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               ServerWebExchange exchange) {
+        String baseUri = BaseUri.of(exchange.getRequest());
+        return this.eventRepository.findById(id)
+                .flatMap(existingEvent -> {
+                    if (ifMatch != null && !EventETag.matches(ifMatch, EventETag.of(existingEvent))) {
+                        return Mono.just(preconditionFailed(existingEvent));
+                    }
+                    Errors errors = validate(eventDto);
+                    if (errors.hasErrors()) {
+                        return Mono.just(badRequest(errors, baseUri));
+                    }
+                    this.eventMapper.updateEvent(eventDto, existingEvent);
+                    return this.eventRepository.save(existingEvent)
+                            .<ResponseEntity<?>>map(savedEvent -> {
+                                EventResource eventResource = new EventResource(savedEvent, baseUri);
+                                eventResource.add(Link.of("/docs/index.html#resources-events-update").withRel("profile"));
+                                return ResponseEntity.ok().eTag(EventETag.of(savedEvent)).body(eventResource);
+                            })
+                            .onErrorReturn(OptimisticLockingFailureException.class,
+                                    ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build());
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * spring-rest-api의 @Valid 다음 EventValidator 순서와 같다. @Valid 에러가 있으면 EventValidator는 실행하지 않는다.
+     */
+    private Errors validate(EventDto eventDto) {
+        Errors errors = new BeanPropertyBindingResult(eventDto, "eventDto");
+        this.beanValidator.validate(eventDto, errors);
+        if (!errors.hasErrors()) {
+            this.eventValidator.validate(eventDto, errors);
+        }
+        return errors;
+    }
+
+    private ResponseEntity<?> badRequest(Errors errors, String baseUri) {
+        return ResponseEntity.badRequest().body(ErrorsResource.modelOf(errors, baseUri));
+    }
+
+    /**
+     * 304 응답 상태는 checkNotModified가 이미 정했으므로 ETag 헤더만 남긴다.
+     */
+    private static ResponseEntity<?> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private ResponseEntity<?> preconditionFailed(Event event) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(EventETag.of(event)).build();
+    }
+
+    /**
+     * PagedResourcesAssembler와 같은 링크: 요청 URI에서 page, size, sort만 바꾼다.
+     * 앞뒤 페이지가 하나라도 있으면 first, last를 붙이고 prev, next는 있을 때만 붙인다.
+     */
+    private static List<Link> paginationLinks(Page<Event> page, ServerWebExchange exchange) {
+        UriComponentsBuilder base = UriComponentsBuilder.fromUri(exchange.getRequest().getURI());
+        List<Link> links = new ArrayList<>();
+        boolean navigable = page.hasPrevious() || page.hasNext();
+        if (navigable) {
+            links.add(pageLink(base, PageRequest.of(0, page.getSize(), page.getSort()), IanaLinkRelations.FIRST));
+        }
+        if (page.hasPrevious()) {
+            links.add(pageLink(base, page.previousPageable(), IanaLinkRelations.PREV));
+        }
+        links.add(pageLink(base, page.getPageable(), IanaLinkRelations.SELF));
+        if (page.hasNext()) {
+            links.add(pageLink(base, page.nextPageable(), IanaLinkRelations.NEXT));
+        }
+        if (navigable) {
+            int lastIndex = page.getTotalPages() == 0 ? 0 : page.getTotalPages() - 1;
+            links.add(pageLink(base, PageRequest.of(lastIndex, page.getSize(), page.getSort()), IanaLinkRelations.LAST));
+        }
+        return links;
+    }
+
+    private static Link pageLink(UriComponentsBuilder base, Pageable pageable, LinkRelation relation) {
+        UriComponentsBuilder builder = base.cloneBuilder()
+                .replaceQueryParam("page", pageable.getPageNumber())
+                .replaceQueryParam("size", pageable.getPageSize())
+                .replaceQueryParam("sort");
+        for (Sort.Order order : pageable.getSort()) {
+            builder.queryParam("sort", order.getProperty() + "," + order.getDirection().name().toLowerCase());
+        }
+        return Link.of(builder.toUriString(), relation);
+    }
+}
@@ -0,0 +1,43 @@
+package com.study.springreactiveapi.events;
+
+import org.springframework.data.relational.core.query.Criteria;
+
+/**
+ * EventSearchCondition의 조건을 AND로 묶은 Criteria (spring-rest-api의 EventSpecifications와 같은 조건)
+ * 값이 없는 조건은 붙이지 않는다.
+ */
+public final class EventCriteria {
+
+    private EventCriteria() {
+    }
+
+    public static Criteria of(EventSearchCondition condition) {
+        Criteria criteria = Criteria.empty();
+        if (condition.getEventStatus() != null) {
+            criteria = criteria.and("eventStatus").is(condition.getEventStatus());
+        }
+        if (condition.getFree() != null) {
+            criteria = criteria.and("free").is(condition.getFree());
+        }
+        if (condition.getOffline() != null) {
+            criteria = criteria.and("offline").is(condition.getOffline());
+        }
+        if (condition.getPriceFrom() != null) {
+            criteria = criteria.and("basePrice").greaterThanOrEquals(condition.getPriceFrom());
+        }
+        if (condition.getPriceTo() != null) {
+            criteria = criteria.and("basePrice").lessThanOrEquals(condition.getPriceTo());
+        }
+        // 두 기간이 겹치려면 등록 시작이 조회 끝보다 앞이고, 등록 마감이 조회 시작보다 뒤면 된다.
+        if (condition.getEnrollmentFrom() != null) {
+            criteria = criteria.and("closeEnrollmentDateTime").greaterThanOrEquals(condition.getEnrollmentFrom());
+        }
+        if (condition.getEnrollmentTo() != null) {
+            criteria = criteria.and("beginEnrollmentDateTime").lessThanOrEquals(condition.getEnrollmentTo());
+        }
+        if (condition.getManager() != null) {
+            criteria = criteria.and("managerId").is(condition.getManager());
+        }
+        return criteria;
+    }
+}
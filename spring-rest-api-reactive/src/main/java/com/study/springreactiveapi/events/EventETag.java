@@ -0,0 +1,45 @@
+package com.study.springreactiveapi.events;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * spring-rest-api의 EventETag와 같은 값
+ * 단건은 version, 목록은 페이지에 담긴 (id, version)과 페이지 정보를 모아서 해시한다.
+ */
+final class EventETag {
+
+    private EventETag() {
+    }
+
+    static String of(Event event) {
+        return "\"" + event.getVersion() + "\"";
+    }
+
+    static String of(List<Event> events, Object... pageInfo) {
+        StringBuilder builder = new StringBuilder();
+        for (Event event : events) {
+            builder.append(event.getId()).append(':').append(event.getVersion()).append(',');
+        }
+        for (Object info : pageInfo) {
+            builder.append('|').append(info);
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * If-Match는 강한 비교를 하므로 W/ 로 시작하는 약한 ETag는 일치하지 않는 것으로 본다.
+     */
+    static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifMatch)) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.study.springreactiveapi.events;
+
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+
+/**
+ * EventController 링크 팩토리
+ * WebFlux에는 요청을 스레드에 묶어두는 RequestContextHolder가 없으므로 base URI(BaseUri.of)를 인자로 받는다.
+ */
+public final class EventLinks {
+
+    static final String COLLECTION_PATH = "/api/events";
+
+    private EventLinks() {
+    }
+
+    public static Link self(String baseUri, Integer id) {
+        return item(baseUri, id, IanaLinkRelations.SELF);
+    }
+
+    /**
+     * /api/events/{id}
+     */
+    public static Link item(String baseUri, Integer id, LinkRelation relation) {
+        return Link.of(baseUri + COLLECTION_PATH + "/" + id, relation);
+    }
+
+    /**
+     * /api/events
+     */
+    public static Link collection(String baseUri, String relation) {
+        return Link.of(baseUri + COLLECTION_PATH, relation);
+    }
+}
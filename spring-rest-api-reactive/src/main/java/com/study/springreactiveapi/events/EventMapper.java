@@ -0,0 +1,29 @@
+package com.study.springreactiveapi.events;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * EventDto -> Event 매핑 (spring-rest-api의 GeneratedEventMapper와 같은 프로퍼티)
+ */
+@Component
+public class EventMapper {
+
+    public Event toEvent(EventDto eventDto) {
+        Event event = new Event();
+        updateEvent(eventDto, event);
+        return event;
+    }
+
+    public void updateEvent(EventDto eventDto, Event event) {
+        event.setName(eventDto.getName());
+        event.setDescription(eventDto.getDescription());
+        event.setBeginEnrollmentDateTime(eventDto.getBeginEnrollmentDateTime());
+        event.setCloseEnrollmentDateTime(eventDto.getCloseEnrollmentDateTime());
+        event.setBeginEventDateTime(eventDto.getBeginEventDateTime());
+        event.setEndEventDateTime(eventDto.getEndEventDateTime());
+        event.setLocation(eventDto.getLocation());
+        event.setBasePrice(eventDto.getBasePrice());
+        event.setMaxPrice(eventDto.getMaxPrice());
+        event.setLimitOfEnrollment(eventDto.getLimitOfEnrollment());
+    }
+}
@@ -0,0 +1,6 @@
+package com.study.springreactiveapi.events;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface EventRepository extends ReactiveCrudRepository<Event, Integer> {
+}
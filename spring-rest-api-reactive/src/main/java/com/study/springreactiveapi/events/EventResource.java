@@ -0,0 +1,11 @@
+package com.study.springreactiveapi.events;
+
+import org.springframework.hateoas.EntityModel;
+
+public class EventResource extends EntityModel<Event> {
+
+    public EventResource(Event event, String baseUri) {
+        super(event);
+        add(EventLinks.self(baseUri, event.getId()));
+    }
+}
@@ -0,0 +1,5 @@
+package com.study.springreactiveapi.events;
+
+public enum EventStatus {
+    DRAFT, PUBLISHED, BEGAN_ENROLLMENT;
+}
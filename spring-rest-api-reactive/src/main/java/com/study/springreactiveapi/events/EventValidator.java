@@ -0,0 +1,41 @@
+package com.study.springreactiveapi.events;
+
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+
+import java.time.LocalDateTime;
+
+/**
+ * spring-rest-api의 EventValidator와 같은 규칙, 같은 에러 코드
+ */
+@Component
+public class EventValidator {
+    public void validate(EventDto eventDto, Errors errors){
+        if(eventDto.getBasePrice() > eventDto.getMaxPrice() && eventDto.getMaxPrice() != 0){
+            errors.rejectValue("basePrice","wrongValue","BasePrice is wrong");
+            errors.rejectValue("maxPrice","wrongValue","MaxPrice is wrong");
+            errors.reject("wrongPrices","Values of prices are wrong");
+        }
+
+        LocalDateTime endEventDateTime = eventDto.getEndEventDateTime();
+        if (endEventDateTime.isBefore(eventDto.getBeginEventDateTime()) ||
+                endEventDateTime.isBefore(eventDto.getCloseEnrollmentDateTime()) ||
+                endEventDateTime.isBefore(eventDto.getBeginEnrollmentDateTime())){
+            errors.rejectValue("endEventDateTime","wrongValue","Time is wrong");
+        }
+    }
+
+    /**
+     * 목록 조회 필터의 범위 조건 검증
+     */
+    public void validate(EventSearchCondition condition, Errors errors){
+        if (condition.getPriceFrom() != null && condition.getPriceTo() != null
+                && condition.getPriceFrom() > condition.getPriceTo()) {
+            errors.rejectValue("priceFrom","wrongValue","PriceFrom is greater than priceTo");
+        }
+        if (condition.getEnrollmentFrom() != null && condition.getEnrollmentTo() != null
+                && condition.getEnrollmentFrom().isAfter(condition.getEnrollmentTo())) {
+            errors.rejectValue("enrollmentFrom","wrongValue","EnrollmentFrom is after enrollmentTo");
+        }
+    }
+}
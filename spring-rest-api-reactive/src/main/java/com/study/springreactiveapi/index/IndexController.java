@@ -0,0 +1,18 @@
+package com.study.springreactiveapi.index;
+
+import com.study.springreactiveapi.common.BaseUri;
+import com.study.springreactiveapi.events.EventLinks;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class IndexController {
+    @GetMapping("/api")
+    public RepresentationModel index(ServerHttpRequest request) {
+        var index = new RepresentationModel();
+        index.add(EventLinks.collection(BaseUri.of(request), "events"));
+        return index;
+    }
+}
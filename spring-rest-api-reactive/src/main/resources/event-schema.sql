@@ -0,0 +1,24 @@
+create table if not exists event (
+    id integer generated by default as identity primary key,
+    name varchar(255),
+    description varchar(255),
+    begin_enrollment_date_time timestamp,
+    close_enrollment_date_time timestamp,
+    begin_event_date_time timestamp,
+    end_event_date_time timestamp,
+    location varchar(255),
+    base_price integer not null,
+    max_price integer not null,
+    limit_of_enrollment integer not null,
+    offline boolean not null,
+    free boolean not null,
+    event_status varchar(255),
+    manager_id integer,
+    version integer
+);
+create index if not exists idx_event_name_id on event (name, id);
+create index if not exists idx_event_begin_event_date_time_id on event (begin_event_date_time, id);
+create index if not exists idx_event_status_begin_enrollment on event (event_status, begin_enrollment_date_time, close_enrollment_date_time);
+create index if not exists idx_event_status_base_price on event (event_status, base_price);
+create index if not exists idx_event_free_offline_base_price on event (free, offline, base_price);
+create index if not exists idx_event_manager_status on event (manager_id, event_status);
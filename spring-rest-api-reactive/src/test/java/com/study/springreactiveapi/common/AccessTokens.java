@@ -0,0 +1,51 @@
+package com.study.springreactiveapi.common;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * spring-rest-api가 my-app.token-mode=jwt 로 발급하는 토큰(JwtAccessTokenConverter)과 같은 헤더, 클레임으로 서명한다.
+ */
+public final class AccessTokens {
+
+    public static final String SIGNING_KEY = "test-hmac-signing-key-0123456789abcdef";
+
+    private AccessTokens() {
+    }
+
+    public static String bearer(String userName) {
+        return "Bearer " + sign(SIGNING_KEY, claims(userName, Duration.ofMinutes(10)).build());
+    }
+
+    public static JWTClaimsSet.Builder claims(String userName, Duration validity) {
+        return new JWTClaimsSet.Builder()
+                .claim("user_name", userName)
+                .claim("authorities", List.of("ROLE_ADMIN", "ROLE_USER"))
+                .claim("scope", List.of("read", "write"))
+                .claim("client_id", "myApp")
+                .jwtID(UUID.randomUUID().toString())
+                .expirationTime(Date.from(Instant.now().plus(validity)));
+    }
+
+    public static String sign(String signingKey, JWTClaimsSet claims) {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.HS256).type(JOSEObjectType.JWT).build(), claims);
+        try {
+            jwt.sign(new MACSigner(signingKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,114 @@
+package com.study.springreactiveapi.events;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.study.springreactiveapi.common.AccessTokens;
+import com.study.springreactiveapi.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * spring-rest-api의 EventContractTests와 같은 파일(contract/events.json)을 읽어서 같은 요청에 같은 응답을 하는지 비교한다.
+ * 요청/응답 모양의 기준은 spring-rest-api이므로 파일은 그 모듈의 테스트 리소스에 둔다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+public class EventContractTests {
+
+    private static final String BASE_URI = "http://localhost";
+
+    private static final File FIXTURE = new File("../spirng-rest-api/src/test/resources/contract/events.json");
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Before
+    public void setUp() {
+        this.webTestClient = this.webTestClient.mutate().baseUrl(BASE_URI).build();
+        this.eventRepository.deleteAll().block();
+    }
+
+    @Test
+    @TestDescription("spring-rest-api와 같은 요청에 같은 응답을 하는 테스트")
+    public void contract() throws Exception {
+        JsonNode fixture = this.objectMapper.readTree(FIXTURE);
+        for (JsonNode contractCase : fixture.get("cases")) {
+            String description = contractCase.get("description").asText();
+            String givenId = contractCase.path("given").asBoolean() ? createEvent(fixture.get("event")) : null;
+            EntityExchangeResult<byte[]> result = perform(contractCase.get("request"), fixture.get("event"), givenId);
+            String body = result.getResponseBody() == null ? "" : new String(result.getResponseBody(), StandardCharsets.UTF_8);
+            String id = givenId != null || !body.startsWith("{") ? givenId : this.objectMapper.readTree(body).path("id").asText(null);
+
+            assertThat(result.getStatus().value()).as(description).isEqualTo(contractCase.get("status").asInt());
+            contractCase.path("headers").fields().forEachRemaining(header ->
+                    assertThat(result.getResponseHeaders().getFirst(header.getKey())).as(description + " " + header.getKey())
+                            .isEqualTo(substitute(header.getValue().asText(), id)));
+            if (contractCase.has("response")) {
+                JSONAssert.assertEquals(description, substitute(contractCase.get("response").toString(), id), body,
+                        JSONCompareMode.STRICT_ORDER);
+            }
+        }
+    }
+
+    private EntityExchangeResult<byte[]> perform(JsonNode request, JsonNode event, String id) {
+        WebTestClient.RequestBodySpec spec = this.webTestClient
+                .method(HttpMethod.valueOf(request.get("method").asText()))
+                .uri(substitute(request.get("path").asText(), id))
+                .accept(MediaTypes.HAL_JSON);
+        if (request.path("token").asBoolean()) {
+            spec.header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer("user@email.com"));
+        }
+        request.path("headers").fields().forEachRemaining(header -> spec.header(header.getKey(), header.getValue().asText()));
+        if (request.path("body").asBoolean()) {
+            ObjectNode body = event.deepCopy();
+            request.path("fields").fields().forEachRemaining(field -> body.set(field.getKey(), field.getValue()));
+            spec.contentType(MediaType.APPLICATION_JSON).bodyValue(body.toString());
+        }
+        return spec.exchange().expectBody().returnResult();
+    }
+
+    private String createEvent(JsonNode event) throws Exception {
+        byte[] body = this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer("user@email.com"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .bodyValue(event.toString())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().returnResult().getResponseBody();
+        return this.objectMapper.readTree(body).get("id").asText();
+    }
+
+    private static String substitute(String text, String id) {
+        String replaced = text.replace("{base}", BASE_URI);
+        return id == null ? replaced : replaced.replace("\"{id}\"", id).replace("{id}", id);
+    }
+}
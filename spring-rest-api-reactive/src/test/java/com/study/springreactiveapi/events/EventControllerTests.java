@@ -0,0 +1,297 @@
+package com.study.springreactiveapi.events;
+
+import com.study.springreactiveapi.common.AccessTokens;
+import com.study.springreactiveapi.common.TestDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 응답 모양은 spring-rest-api EventControllerTests의 같은 요청에서 나온 값과 비교한다.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+public class EventControllerTests {
+
+    private static final String USER = "user@email.com";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    EventRepository eventRepository;
+
+    @Before
+    public void setUp() {
+        // MockMvc처럼 http://localhost 로 요청한다.
+        this.webTestClient = this.webTestClient.mutate().baseUrl("http://localhost").build();
+        this.eventRepository.deleteAll().block();
+    }
+
+    @Test
+    @TestDescription("정상적으로 이벤트를 생성하는 테스트")
+    @SuppressWarnings("unchecked")
+    public void createEvent() {
+        EventDto event = eventDto()
+                .location("서울 광화문")
+                .build();
+
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer(USER))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaTypes.HAL_JSON)
+                .bodyValue(event)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().exists(HttpHeaders.LOCATION)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectHeader().contentType(MediaTypes.HAL_JSON)
+                .expectBody()
+                .jsonPath("id").exists()
+                .jsonPath("free").isEqualTo(false)
+                .jsonPath("offline").isEqualTo(true)
+                .jsonPath("eventStatus").isEqualTo("DRAFT")
+                .jsonPath("$").value(body -> assertThat(((Map<String, Object>) body).keySet()).containsExactly(
+                        "id", "name", "description", "beginEnrollmentDateTime", "closeEnrollmentDateTime",
+                        "beginEventDateTime", "endEventDateTime", "location", "basePrice", "maxPrice", "limitOfEnrollment",
+                        "offline", "free", "eventStatus", "manager", "version", "_links"))
+                .jsonPath("version").isEqualTo(0)
+                .jsonPath("_links.self.href").value(href -> assertThat((String) href).startsWith("http://localhost/api/events/"))
+                .jsonPath("_links.query-events.href").isEqualTo("http://localhost/api/events")
+                .jsonPath("_links.update-events").exists()
+                .jsonPath("_links.profile.href").isEqualTo("/docs/index.html#resources-events-create");
+    }
+
+    @Test
+    @TestDescription("입력 값이 비어있는 경우에 에러가 발생하는 테스트")
+    public void createEvent_Bad_Request_Empty_Input() {
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer(USER))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EventDto())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("errors[0].objectName").isEqualTo("eventDto")
+                .jsonPath("errors[0].field").exists()
+                .jsonPath("errors[0].code").exists()
+                .jsonPath("_links.index.href").isEqualTo("http://localhost/api");
+    }
+
+    @Test
+    @TestDescription("입력 값이 잘못된 경우에 spring-rest-api와 같은 에러 목록을 응답하는 테스트")
+    public void createEvent_Bad_Request_Wrong_Input() {
+        EventDto event = eventDto()
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 4, 19, 12, 0))
+                .endEventDateTime(LocalDateTime.of(2021, 4, 19, 12, 0))
+                .basePrice(1000)
+                .build();
+
+        this.webTestClient.post().uri("/api/events")
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer(USER))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(event)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"errors\":["
+                        + "{\"field\":\"basePrice\",\"objectName\":\"eventDto\",\"code\":\"wrongValue\",\"defaultMessage\":\"BasePrice is wrong\",\"rejectedValue\":\"1000\"},"
+                        + "{\"field\":\"maxPrice\",\"objectName\":\"eventDto\",\"code\":\"wrongValue\",\"defaultMessage\":\"MaxPrice is wrong\",\"rejectedValue\":\"200\"},"
+                        + "{\"field\":\"endEventDateTime\",\"objectName\":\"eventDto\",\"code\":\"wrongValue\",\"defaultMessage\":\"Time is wrong\",\"rejectedValue\":\"2021-04-19T12:00\"},"
+                        + "{\"objectName\":\"eventDto\",\"code\":\"wrongPrices\",\"defaultMessage\":\"Values of prices are wrong\"}],"
+                        + "\"_links\":{\"index\":{\"href\":\"http://localhost/api\"}}}");
+    }
+
+    @Test
+    @TestDescription("30개의 이벤트를 10개씩 두번째 페이지 조회하기")
+    public void queryEvents() {
+        saveEvents(30);
+
+        this.webTestClient.get().uri("/api/events?page=1&size=10&sort=name,DESC")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("_embedded.eventList.length()").isEqualTo(10)
+                .jsonPath("_embedded.eventList[0].name").isEqualTo("event26")
+                .jsonPath("_embedded.eventList[0]._links.self").exists()
+                .jsonPath("_links.first.href").isEqualTo("http://localhost/api/events?page=0&size=10&sort=name,desc")
+                .jsonPath("_links.prev.href").isEqualTo("http://localhost/api/events?page=0&size=10&sort=name,desc")
+                .jsonPath("_links.self.href").isEqualTo("http://localhost/api/events?page=1&size=10&sort=name,desc")
+                .jsonPath("_links.next.href").isEqualTo("http://localhost/api/events?page=2&size=10&sort=name,desc")
+                .jsonPath("_links.last.href").isEqualTo("http://localhost/api/events?page=2&size=10&sort=name,desc")
+                .jsonPath("_links.profile.href").isEqualTo("/docs/index.html#resources-events-list")
+                .jsonPath("page.size").isEqualTo(10)
+                .jsonPath("page.totalElements").isEqualTo(30)
+                .jsonPath("page.totalPages").isEqualTo(3)
+                .jsonPath("page.number").isEqualTo(1);
+    }
+
+    @Test
+    @TestDescription("필터 조건으로 목록을 조회하고, 필터 값이 잘못되면 400과 에러 목록을 응답한다")
+    public void queryEventsWithCondition() {
+        saveEvents(10);
+
+        this.webTestClient.get().uri("/api/events?priceFrom=103&priceTo=105&sort=basePrice")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("_embedded.eventList.length()").isEqualTo(3)
+                .jsonPath("_embedded.eventList[0].basePrice").isEqualTo(103)
+                .jsonPath("_embedded.eventList[2].basePrice").isEqualTo(105)
+                .jsonPath("_links.self.href").isEqualTo("http://localhost/api/events?priceFrom=103&priceTo=105&page=0&size=20&sort=basePrice,asc")
+                .jsonPath("_links.first").doesNotExist();
+
+        this.webTestClient.get().uri("/api/events?priceFrom=200&priceTo=100")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("errors[0].field").isEqualTo("priceFrom")
+                .jsonPath("errors[0].code").isEqualTo("wrongValue")
+                .jsonPath("_links.index").exists();
+    }
+
+    @Test
+    @TestDescription("기존의 이벤트를 하나 조회하고, ETag가 같으면 304, 없으면 404")
+    public void getEvent() {
+        Event event = saveEvents(1).get(0);
+
+        this.webTestClient.get().uri("/api/events/{id}", event.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("name").isEqualTo("event0")
+                .jsonPath("_links.self.href").isEqualTo("http://localhost/api/events/" + event.getId())
+                .jsonPath("_links.profile").exists();
+
+        this.webTestClient.get().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        this.webTestClient.get().uri("/api/events/11883")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @TestDescription("이벤트를 수정하면 version이 올라가고, If-Match가 다르면 412, 입력이 잘못되면 400")
+    public void updateEvent() {
+        Event event = saveEvents(1).get(0);
+        EventDto eventDto = eventDto().name("Updated Event").build();
+
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer(USER))
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("name").isEqualTo("Updated Event")
+                .jsonPath("version").isEqualTo(1)
+                .jsonPath("_links.profile.href").isEqualTo("/docs/index.html#resources-events-update");
+
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer(USER))
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+
+        this.webTestClient.put().uri("/api/events/{id}", event.getId())
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer(USER))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto().basePrice(20000).maxPrice(1000).build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("errors[2].code").isEqualTo("wrongPrices");
+
+        this.webTestClient.put().uri("/api/events/11883")
+                .header(HttpHeaders.AUTHORIZATION, AccessTokens.bearer(USER))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(eventDto)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @TestDescription("토큰이 없거나 서명, 만료 시간이 잘못됐거나 리프레시 토큰이면 생성할 수 없고, 조회는 토큰 없이 할 수 있다")
+    public void createEvent_Unauthorized() {
+        EventDto event = eventDto().build();
+        List<String> authorizations = List.of("",
+                "Bearer " + AccessTokens.sign("another-hmac-signing-key-0123456789abcdef", AccessTokens.claims(USER, Duration.ofMinutes(10)).build()),
+                "Bearer " + AccessTokens.sign(AccessTokens.SIGNING_KEY, AccessTokens.claims(USER, Duration.ofMinutes(-10)).build()),
+                "Bearer " + AccessTokens.sign(AccessTokens.SIGNING_KEY, AccessTokens.claims(USER, Duration.ofMinutes(10)).claim("ati", "access-token-id").build()));
+
+        for (String authorization : authorizations) {
+            this.webTestClient.post().uri("/api/events")
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(event)
+                    .exchange()
+                    .expectStatus().isUnauthorized();
+        }
+        assertThat(this.eventRepository.count().block()).isZero();
+
+        this.webTestClient.get().uri("/api/events")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private List<Event> saveEvents(int count) {
+        return this.eventRepository.saveAll(Flux.range(0, count).map(i -> {
+            Event event = new Event();
+            event.setName("event" + i);
+            event.setDescription("test event");
+            event.setBeginEnrollmentDateTime(LocalDateTime.of(2021, 4, 17, 12, 0));
+            event.setCloseEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 12, 0));
+            event.setBeginEventDateTime(LocalDateTime.of(2021, 4, 20, 12, 30));
+            event.setEndEventDateTime(LocalDateTime.of(2021, 4, 21, 12, 0));
+            event.setBasePrice(100 + i);
+            event.setMaxPrice(200);
+            event.setLimitOfEnrollment(100);
+            event.setLocation("강남역 D2 스타텁 팩토리");
+            event.update();
+            return event;
+        })).collectList().block();
+    }
+
+    private static EventDto.EventDtoBuilder eventDto() {
+        return EventDto.builder()
+                .name("Spring")
+                .description("REST API Development with Spring")
+                .beginEnrollmentDateTime(LocalDateTime.of(2021, 4, 17, 12, 0))
+                .closeEnrollmentDateTime(LocalDateTime.of(2021, 4, 18, 12, 0))
+                .beginEventDateTime(LocalDateTime.of(2021, 4, 20, 12, 30))
+                .endEventDateTime(LocalDateTime.of(2021, 4, 21, 12, 0))
+                .basePrice(100)
+                .maxPrice(200)
+                .limitOfEnrollment(100);
+    }
+}